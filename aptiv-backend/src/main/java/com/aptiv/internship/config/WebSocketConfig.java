@@ -1,18 +1,68 @@
 package com.aptiv.internship.config;
 
+import com.aptiv.internship.service.PrincipalCache;
+import com.aptiv.internship.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final JwtUtil jwtUtil;
+    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+
+    @Value("${aptiv.internship.websocket.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${aptiv.internship.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${aptiv.internship.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${aptiv.internship.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${aptiv.internship.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        if (relayEnabled) {
+            // External STOMP broker (RabbitMQ, ActiveMQ...): the broadcast destinations share user
+            // sessions between replicas, so a push reaches the user whichever node holds the socket.
+            // The TCP connection uses reactor-netty.
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/user-registry");
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
@@ -23,4 +73,30 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
-}
\ No newline at end of file
+
+    /**
+     * Authenticate the STOMP session from the JWT sent in the CONNECT frame, so that user
+     * destinations (/user/queue/...) resolve to the user's email
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    String authorizationHeader = accessor.getFirstNativeHeader("Authorization");
+                    if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+                        Claims claims = jwtUtil.verify(authorizationHeader.substring(7));
+                        if (claims != null && claims.getSubject() != null) {
+                            UserDetails userDetails = principalCache.get(claims.getSubject(), userDetailsService::loadUserByUsername);
+                            accessor.setUser(new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities()));
+                        }
+                    }
+                }
+                return message;
+            }
+        });
+    }
+}
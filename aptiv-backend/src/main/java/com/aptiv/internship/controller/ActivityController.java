@@ -2,6 +2,7 @@ package com.aptiv.internship.controller;
 
 import com.aptiv.internship.dto.request.ActivityRequest;
 import com.aptiv.internship.dto.response.ActivityResponse;
+import com.aptiv.internship.dto.response.CursorPage;
 import com.aptiv.internship.service.ActivityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -35,4 +36,12 @@ public class ActivityController {
     public ResponseEntity<Page<ActivityResponse>> getAllActivities(Pageable pageable) {
         return ResponseEntity.ok(activityService.getAllActivities(pageable));
     }
+
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<CursorPage<ActivityResponse>> getAllActivitiesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(activityService.getAllActivities(cursor, size));
+    }
 }
\ No newline at end of file
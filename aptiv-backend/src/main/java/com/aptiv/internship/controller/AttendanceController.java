@@ -1,19 +1,33 @@
 package com.aptiv.internship.controller;
 
 import com.aptiv.internship.dto.response.AttendanceResponse;
+import com.aptiv.internship.dto.response.DailyAttendanceSummaryResponse;
+import com.aptiv.internship.dto.response.DepartmentAttendanceStatsResponse;
+import com.aptiv.internship.dto.response.InternAttendanceStatsResponse;
+import com.aptiv.internship.service.AttendanceAnalyticsService;
+import com.aptiv.internship.service.AttendanceRollupService;
 import com.aptiv.internship.service.AttendanceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/attendance")
 @RequiredArgsConstructor
 public class AttendanceController {
     private final AttendanceService attendanceService;
+    private final AttendanceAnalyticsService attendanceAnalyticsService;
+    private final AttendanceRollupService attendanceRollupService;
 
     @PostMapping("/checkin")
     @PreAuthorize("hasRole('INTERN')")
@@ -26,4 +40,39 @@ public class AttendanceController {
     public ResponseEntity<AttendanceResponse> checkOut() {
         return ResponseEntity.ok(attendanceService.checkOut());
     }
-}
\ No newline at end of file
+
+    /**
+     * Presence rate and absence streaks of one intern, as of the last nightly rollup
+     */
+    @GetMapping("/stats/interns/{internId}")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<InternAttendanceStatsResponse> getInternStats(@PathVariable Long internId) {
+        return ResponseEntity.ok(attendanceAnalyticsService.getInternStats(internId));
+    }
+
+    @GetMapping("/stats/departments")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<List<DepartmentAttendanceStatsResponse>> getDepartmentStats() {
+        return ResponseEntity.ok(attendanceAnalyticsService.getDepartmentStats());
+    }
+
+    /**
+     * Daily present, late, partial and absent counts per department, up to yesterday
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<List<DailyAttendanceSummaryResponse>> getDailySummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String department) {
+        LocalDate end = to != null ? to : LocalDate.now().minusDays(1);
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(attendanceRollupService.getDailySummary(start, end, department));
+    }
+
+    @GetMapping("/stats/departments/{department}/interns")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<List<InternAttendanceStatsResponse>> getDepartmentInternStats(@PathVariable String department) {
+        return ResponseEntity.ok(attendanceAnalyticsService.getDepartmentInternStats(department));
+    }
+}
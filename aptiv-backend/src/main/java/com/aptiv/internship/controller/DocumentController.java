@@ -1,29 +1,39 @@
 package com.aptiv.internship.controller;
 
+import com.aptiv.internship.dto.response.CursorPage;
 import com.aptiv.internship.dto.response.DocumentResponse;
 import com.aptiv.internship.entity.Document;
 import com.aptiv.internship.service.DocumentService;
+import com.aptiv.internship.util.FileUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/documents")
 @RequiredArgsConstructor
 public class DocumentController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final DocumentService documentService;
 
     @PostMapping
@@ -46,31 +56,60 @@ public class DocumentController {
         return ResponseEntity.ok(documentService.getAllDocuments(pageable));
     }
 
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<CursorPage<DocumentResponse>> getAllDocumentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(documentService.getAllDocuments(cursor, size));
+    }
+
     // NEW: Download endpoint
+    // Supports Range requests (206), conditional GETs on the content-hash ETag (304) and
+    // long-lived private caching: a document's content never changes once uploaded.
     @GetMapping("/{id}/download")
     @PreAuthorize("hasAnyRole('HR','INTERN')")
-    public ResponseEntity<Resource> downloadDocument(@PathVariable Long id) throws IOException {
+    public ResponseEntity<Resource> downloadDocument(@PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                     ServletWebRequest webRequest) throws IOException {
         Document document = documentService.getDocumentEntity(id);
 
         // service will check authorization (HR or owner) and load resource
-        Resource resource = documentService.loadDocumentAsResource(document);
+        FileSystemResource resource = documentService.loadDocumentAsResource(document);
+
+        String eTag = "\"" + documentService.getContentHash(document, resource) + "\"";
+        long lastModified = resource.lastModified();
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return null; // 304 already written
+        }
 
         String contentType = document.getMimeType();
         if (contentType == null || contentType.isBlank()) {
-            // fallback to probe
-            contentType = Files.probeContentType(Paths.get(document.getFilePath()));
-            if (contentType == null) contentType = "application/octet-stream";
+            contentType = FileUtils.getMimeType(document.getOriginalFileName());
         }
 
         String encodedFilename = URLEncoder.encode(document.getOriginalFileName(), StandardCharsets.UTF_8);
         String contentDisposition = "attachment; filename*=UTF-8''" + encodedFilename;
 
-        long contentLength = Files.size(Paths.get(document.getFilePath()));
-
-        return ResponseEntity.ok()
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .contentType(MediaType.parseMediaType(contentType))
                 .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
-                .contentLength(contentLength)
-                .body(resource);
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                .eTag(eTag)
+                .lastModified(lastModified);
+
+        // Whole-file downloads: let Tomcat send the file with sendfile(2) once the handler returns
+        HttpServletRequest request = webRequest.getRequest();
+        if (range == null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            long length = resource.contentLength();
+            request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return response.contentLength(length).build();
+        }
+
+        // Ranges (and containers without sendfile) are written by Spring's resource converters
+        return response.body(resource);
     }
 }
@@ -4,14 +4,19 @@
     import com.aptiv.internship.dto.request.BroadcastMessageRequest;
     import com.aptiv.internship.dto.request.InternRequest;
     import com.aptiv.internship.dto.request.MessageRequest;
+    import com.aptiv.internship.dto.response.BatchErrorResponse;
+    import com.aptiv.internship.dto.response.BatchImportResponse;
     import com.aptiv.internship.dto.response.BatchSuccessResponse;
+    import com.aptiv.internship.dto.response.BroadcastJobResponse;
+    import com.aptiv.internship.dto.response.CursorPage;
     import com.aptiv.internship.dto.response.InternResponse;
     import com.aptiv.internship.dto.response.InternSearchResponseDTO;
     import com.aptiv.internship.dto.response.MessageResponse;
     import com.aptiv.internship.entity.Intern;
     import com.aptiv.internship.entity.User;
+    import com.aptiv.internship.service.BroadcastService;
+    import com.aptiv.internship.service.InternImportService;
     import com.aptiv.internship.service.InternService;
-    import com.aptiv.internship.util.ExcelParser;
     import jakarta.validation.Valid;
     import lombok.RequiredArgsConstructor;
     import org.springframework.data.domain.Page;
@@ -27,7 +32,6 @@
     
     import java.io.IOException;
     import java.time.LocalDate;
-    import java.util.List;
     import java.util.Map;
 
     @RestController
@@ -36,7 +40,8 @@
     public class InternController {
     
         private final InternService internService;
-        private final ExcelParser excelParser;
+        private final InternImportService internImportService;
+        private final BroadcastService broadcastService;
     
         @PostMapping
         @PreAuthorize("hasRole('HR')")
@@ -57,9 +62,21 @@
                 @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
             return ResponseEntity.ok(internService.getAllInterns(pageable));
         }
+
+        /**
+         * Cursor (keyset) mode: pass an empty cursor for the first page, then each nextCursor
+         */
+        @GetMapping(params = "cursor")
+        @PreAuthorize("hasRole('HR')")
+        public ResponseEntity<CursorPage<InternResponse>> getAllInternsByCursor(
+                @RequestParam(required = false) String cursor,
+                @RequestParam(defaultValue = "20") int size) {
+            return ResponseEntity.ok(internService.getAllInterns(cursor, size));
+        }
     
         /**
-         * Advanced search with multiple filters
+         * Advanced search with multiple filters. The keyword matches anywhere in the name, email,
+         * department, supervisor, university and major; whole-word and word-prefix matches rank first.
          */
         @GetMapping("/search")
         @Transactional(readOnly = true)
@@ -84,9 +101,33 @@
     
             return ResponseEntity.ok(results);
         }
+
+        /**
+         * Cursor (keyset) mode of the advanced search, ordered newest first
+         */
+        @GetMapping(value = "/search", params = "cursor")
+        @PreAuthorize("hasRole('HR')")
+        public ResponseEntity<CursorPage<InternResponse>> searchInternsByCursor(
+                @RequestParam(required = false) String keyword,
+                @RequestParam(required = false) String department,
+                @RequestParam(required = false) String university,
+                @RequestParam(required = false) String major,
+                @RequestParam(required = false) String supervisor,
+                @RequestParam(required = false) Intern.InternshipStatus status,
+                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateFrom,
+                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateTo,
+                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateFrom,
+                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateTo,
+                @RequestParam(required = false) String cursor,
+                @RequestParam(defaultValue = "20") int size) {
+
+            return ResponseEntity.ok(internService.searchInterns(
+                    keyword, department, university, major, supervisor, status,
+                    startDateFrom, startDateTo, endDateFrom, endDateTo, cursor, size));
+        }
     
         /**
-         * Simple keyword search
+         * Simple keyword search, with the same matching as {@code /search}
          */
         @GetMapping("/search/keyword")
         @Transactional(readOnly = true)
@@ -171,9 +212,8 @@
         @PreAuthorize("hasRole('HR')")
         public ResponseEntity<Map<String, Object>> createInternsBatch(@RequestParam("file") MultipartFile file, @AuthenticationPrincipal User user) {
             try {
-                List<InternRequest> requests = excelParser.parseInterns(file);
-                internService.createInternsBatch(requests, user);
-                            return ResponseEntity.ok(Map.of("success", true, "message", "Interns added successfully", "count", requests.size()));
+                int count = internImportService.importInterns(file, user);
+                return ResponseEntity.ok(Map.of("success", true, "message", "Interns added successfully", "count", count));
             } catch (IllegalArgumentException e) {
                 return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
             } catch (Exception e) {
@@ -181,6 +221,28 @@
             }
         }
 
+        /**
+         * Partial-commit import: valid rows are saved, existing interns skipped and every
+         * rejected row reported with its row number
+         */
+        @PostMapping(value = "/batch", params = "mode=partial")
+        @PreAuthorize("hasRole('HR')")
+        public ResponseEntity<BatchImportResponse> importInternsPartially(@RequestParam("file") MultipartFile file, @AuthenticationPrincipal User user) {
+            try {
+                return ResponseEntity.ok(internImportService.importInternsPartially(file, user));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(fileError(e.getMessage()));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(fileError("Error processing file"));
+            }
+        }
+
+        private BatchImportResponse fileError(String message) {
+            BatchImportResponse response = new BatchImportResponse();
+            response.getErrors().add(new BatchErrorResponse("INVALID_FILE", message));
+            return response;
+        }
+
         @PatchMapping("/{id}")
         @PreAuthorize("hasRole('HR')")
         public ResponseEntity<InternResponse> patchIntern(@PathVariable Long id, @RequestBody InternRequest request) {
@@ -208,40 +270,49 @@
         }
     
         /**
-         * Send message to multiple interns
+         * Send message to multiple interns. Runs in the background: poll the returned job for progress.
          */
         @PostMapping("/message/batch")
         @PreAuthorize("hasRole('HR')")
-        public ResponseEntity<List<MessageResponse>> sendMessageToMultipleInterns(
-                @RequestBody @Valid BatchMessageRequest request) {
+        public ResponseEntity<BroadcastJobResponse> sendMessageToMultipleInterns(
+                @RequestBody @Valid BatchMessageRequest request,
+                @AuthenticationPrincipal User user) {
     
-            List<MessageResponse> responses = internService.sendMessageToMultipleInterns(
+            BroadcastJobResponse job = broadcastService.broadcastToInterns(
                     request.getInternIds(),
                     request.getSubject(),
-                    request.getContent()
+                    request.getContent(),
+                    user
             );
     
-            return ResponseEntity.ok(responses);
+            return ResponseEntity.accepted().body(job);
         }
     
         /**
-         * Send message to all active interns
+         * Send message to all active interns. Runs in the background: poll the returned job for progress.
          */
         @PostMapping("/message/all")
         @PreAuthorize("hasRole('HR')")
-        public ResponseEntity<List<MessageResponse>> sendMessageToAllInterns(
-                @RequestBody @Valid BroadcastMessageRequest request) {
+        public ResponseEntity<BroadcastJobResponse> sendMessageToAllInterns(
+                @RequestBody @Valid BroadcastMessageRequest request,
+                @AuthenticationPrincipal User user) {
     
-            // Get all active interns
-            List<Long> internIds = internService.getAllActiveInternIds();
-    
-            List<MessageResponse> responses = internService.sendMessageToMultipleInterns(
-                    internIds,
+            BroadcastJobResponse job = broadcastService.broadcastToActiveInterns(
                     request.getSubject(),
-                    request.getContent()
+                    request.getContent(),
+                    user
             );
     
-            return ResponseEntity.ok(responses);
+            return ResponseEntity.accepted().body(job);
+        }
+    
+        /**
+         * Progress of a message broadcast
+         */
+        @GetMapping("/message/broadcasts/{jobId}")
+        @PreAuthorize("hasRole('HR')")
+        public ResponseEntity<BroadcastJobResponse> getBroadcast(@PathVariable String jobId) {
+            return ResponseEntity.ok(broadcastService.getJob(jobId));
         }
     
         @GetMapping("/count")
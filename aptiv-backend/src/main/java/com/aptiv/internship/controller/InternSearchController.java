@@ -3,17 +3,21 @@ package com.aptiv.internship.controller;
 import com.aptiv.internship.dto.request.InternSearchDTO;
 import com.aptiv.internship.dto.response.InternResponse;
 import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.service.InternExportService;
 import com.aptiv.internship.service.InternSearchService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +28,7 @@ import java.util.Map;
 public class InternSearchController {
 
     private final InternSearchService internSearchService;
+    private final InternExportService internExportService;
 
     /**
      * Advanced search with all parameters
@@ -85,7 +90,6 @@ public class InternSearchController {
      * Get filter options for search form
      */
     @GetMapping("/filters")
-    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('HR')")
     public ResponseEntity<Map<String, Object>> getFilterOptions() {
         Map<String, Object> options = internSearchService.getSearchFilterOptions();
@@ -107,7 +111,6 @@ public class InternSearchController {
      * Get search suggestions for autocomplete
      */
     @GetMapping("/suggestions")
-    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('HR')")
     public ResponseEntity<Map<String, List<String>>> getSearchSuggestions(
             @RequestParam String query) {
@@ -129,6 +132,26 @@ public class InternSearchController {
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * Stream search results as a CSV or XLSX file without loading them in memory
+     */
+    @PostMapping("/export/stream")
+    @PreAuthorize("hasRole('HR')")
+    public void streamSearchResults(
+            @RequestBody InternSearchDTO searchDTO,
+            @RequestParam(defaultValue = "CSV") InternExportService.ExportFormat format,
+            HttpServletResponse response) throws IOException {
+
+        if (format == InternExportService.ExportFormat.XLSX) {
+            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"interns.xlsx\"");
+        } else {
+            response.setContentType("text/csv; charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"interns.csv\"");
+        }
+        internExportService.exportSearchResults(searchDTO, format, response.getOutputStream());
+    }
+
     /**
      * Search by multiple criteria (alternative endpoint)
      */
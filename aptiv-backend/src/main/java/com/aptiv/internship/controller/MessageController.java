@@ -2,7 +2,9 @@ package com.aptiv.internship.controller;
 
 import com.aptiv.internship.repository.UserRepository;
 import com.aptiv.internship.dto.request.InternMessageRequest;
+import com.aptiv.internship.dto.request.MarkReadRequest;
 import com.aptiv.internship.dto.request.MessageRequest;
+import com.aptiv.internship.dto.response.CursorPage;
 import com.aptiv.internship.dto.response.MessageResponse;
 import com.aptiv.internship.entity.User;
 import com.aptiv.internship.service.MessageService;
@@ -51,6 +53,16 @@ public class MessageController {
         return ResponseEntity.ok(messageService.getMyMessages(pageable));
     }
 
+    /**
+     * Cursor (keyset) mode of my messages: pass an empty cursor for the first page
+     */
+    @GetMapping(value = "/my", params = "cursor")
+    public ResponseEntity<CursorPage<MessageResponse>> getMyMessagesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(messageService.getMyMessages(cursor, size));
+    }
+
     /**
      * Get a single message by ID (works for both HR and INTERN)
      */
@@ -81,6 +93,22 @@ public class MessageController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Mark several received messages as read; returns how many were unread
+     */
+    @PatchMapping("/read")
+    public ResponseEntity<Integer> markAsRead(@Valid @RequestBody MarkReadRequest request) {
+        return ResponseEntity.ok(messageService.markAsRead(request.getIds()));
+    }
+
+    /**
+     * Mark all received messages as read
+     */
+    @PatchMapping("/read-all")
+    public ResponseEntity<Integer> markAllAsRead() {
+        return ResponseEntity.ok(messageService.markAllAsRead());
+    }
+
     /**
      * Delete a message (works for both HR and INTERN)
      */
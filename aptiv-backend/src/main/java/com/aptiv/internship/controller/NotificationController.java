@@ -1,7 +1,10 @@
 package com.aptiv.internship.controller;
 
+import com.aptiv.internship.dto.request.MarkReadRequest;
+import com.aptiv.internship.dto.response.CursorPage;
 import com.aptiv.internship.dto.response.NotificationResponse;
 import com.aptiv.internship.service.NotificationService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,9 +22,34 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getMyNotifications(pageable));
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<NotificationResponse>> getMyNotificationsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.getMyNotifications(cursor, size));
+    }
+
     @PatchMapping("/{id}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable Long id) {
         notificationService.markNotificationAsRead(id);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Mark several notifications as read; returns how many were unread
+     */
+    @PatchMapping("/read")
+    public ResponseEntity<Integer> markAsRead(@Valid @RequestBody MarkReadRequest request) {
+        return ResponseEntity.ok(notificationService.markNotificationsAsRead(request.getIds()));
+    }
+
+    @PatchMapping("/read-all")
+    public ResponseEntity<Integer> markAllAsRead() {
+        return ResponseEntity.ok(notificationService.markAllNotificationsAsRead());
+    }
+
+    @GetMapping("/unread/count")
+    public ResponseEntity<Long> getUnreadCount() {
+        return ResponseEntity.ok(notificationService.getUnreadCount());
+    }
 }
\ No newline at end of file
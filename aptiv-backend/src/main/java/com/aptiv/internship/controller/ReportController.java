@@ -0,0 +1,84 @@
+package com.aptiv.internship.controller;
+
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.exception.ValidationException;
+import com.aptiv.internship.service.CohortReportService;
+import com.aptiv.internship.service.ReportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+public class ReportController {
+    private final ReportService reportService;
+    private final CohortReportService cohortReportService;
+
+    /**
+     * Activity and attendance report of one intern (PDF)
+     */
+    @GetMapping("/interns/{internId}/activity")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<Resource> getInternActivityReport(@PathVariable Long internId, ServletWebRequest webRequest) {
+        return serve(reportService.internActivityReport(internId), webRequest);
+    }
+
+    /**
+     * Activity and attendance report of every intern of a department (PDF)
+     */
+    @GetMapping("/departments/{department}/activity")
+    @PreAuthorize("hasRole('HR')")
+    public ResponseEntity<Resource> getDepartmentActivityReport(@PathVariable String department, ServletWebRequest webRequest) {
+        return serve(reportService.departmentActivityReport(department), webRequest);
+    }
+
+    /**
+     * ZIP of the activity reports of every intern in a department and/or with a status, streamed
+     * as the reports are rendered
+     */
+    @GetMapping(value = "/cohort", produces = "application/zip")
+    @PreAuthorize("hasRole('HR')")
+    public void getCohortReportPack(@RequestParam(required = false) String department,
+                                    @RequestParam(required = false) Intern.InternshipStatus status,
+                                    HttpServletResponse response) throws IOException {
+        if (department == null && status == null) {
+            throw new ValidationException("A department or a status is required");
+        }
+        // Resolved before the response starts, so an empty cohort is still a 404
+        List<Intern> interns = cohortReportService.findCohort(department, status);
+
+        String name = "reports-" + (department != null ? department : "all") + (status != null ? "-" + status : "");
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name.replaceAll("[^A-Za-z0-9_-]", "_") + ".zip\"");
+        // Written synchronously on the request thread: no async dispatch, no buffering of the ZIP
+        cohortReportService.writeCohortPack(interns, new BufferedOutputStream(response.getOutputStream()));
+    }
+
+    private ResponseEntity<Resource> serve(ReportService.Report report, ServletWebRequest webRequest) {
+        // The ETag is the version of the report data: a client holding it gets a 304 without a render
+        String eTag = "\"" + report.getVersion() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 already written
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + report.getDownloadName() + "\"")
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(eTag)
+                .body(new FileSystemResource(reportService.render(report)));
+    }
+}
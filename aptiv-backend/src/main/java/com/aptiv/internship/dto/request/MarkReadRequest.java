@@ -0,0 +1,14 @@
+package com.aptiv.internship.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MarkReadRequest {
+    @NotEmpty(message = "IDs list cannot be empty")
+    @Size(max = 1000, message = "At most 1000 IDs can be marked at once")
+    private List<Long> ids;
+}
@@ -2,6 +2,7 @@ package com.aptiv.internship.dto.response;
 
 public class BatchErrorResponse {
     private boolean success = false;
+    private Integer row; // 1-based sheet row, null for file-level errors
     private String error;
     private String message;
 
@@ -10,8 +11,16 @@ public class BatchErrorResponse {
         this.message = message;
     }
 
+    public BatchErrorResponse(Integer row, String error, String message) {
+        this.row = row;
+        this.error = error;
+        this.message = message;
+    }
+
     // getters and setters
     public boolean isSuccess() { return success; }
+    public Integer getRow() { return row; }
+    public void setRow(Integer row) { this.row = row; }
     public String getError() { return error; }
     public void setError(String error) { this.error = error; }
     public String getMessage() { return message; }
@@ -0,0 +1,21 @@
+package com.aptiv.internship.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchImportResponse {
+    private boolean success;
+    private int created;
+    private int skipped;
+    private List<BatchErrorResponse> errors = new ArrayList<>();
+
+    // getters and setters
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+    public List<BatchErrorResponse> getErrors() { return errors; }
+    public void setErrors(List<BatchErrorResponse> errors) { this.errors = errors; }
+}
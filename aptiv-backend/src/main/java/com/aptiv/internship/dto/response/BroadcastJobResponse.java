@@ -0,0 +1,21 @@
+package com.aptiv.internship.dto.response;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class BroadcastJobResponse {
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, COMPLETED_WITH_ERRORS
+    }
+
+    private String id;
+    private Status status;
+    private int total;   // recipients resolved
+    private int sent;    // messages stored, their emails queued
+    private int failed;
+    private int skipped; // requested ids that match no intern
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.aptiv.internship.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class DailyAttendanceSummaryResponse {
+    private LocalDate date;
+    private String department;
+    private int present;
+    private int late;
+    private int partial;
+    private int absent;
+}
@@ -0,0 +1,19 @@
+package com.aptiv.internship.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class DepartmentAttendanceStatsResponse {
+    private String department;
+    private long interns;
+    private long workingDays;
+    private long presentDays;
+    private long lateDays;
+    private long partialDays;
+    private long absentDays;
+    private double presenceRate;
+    private long internsOverAbsenceLimit; // interns whose current absence streak reached the limit
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,24 @@
+package com.aptiv.internship.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class InternAttendanceStatsResponse {
+    private Long internId;
+    private String internName;
+    private String department;
+    private long workingDays;  // weekdays from the start of the internship to the last rollup
+    private long presentDays;
+    private long lateDays;
+    private long partialDays;
+    private long absentDays;   // working days marked ABSENT or without any attendance
+    private double presenceRate; // percentage of working days with a check-in
+    private long longestAbsenceStreak;
+    private long currentAbsenceStreak;
+    private LocalDate currentAbsenceStart;
+    private boolean absenceLimitReached;
+    private LocalDateTime computedAt;
+}
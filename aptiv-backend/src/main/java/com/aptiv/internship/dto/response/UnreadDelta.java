@@ -0,0 +1,26 @@
+package com.aptiv.internship.dto.response;
+
+/**
+ * Change of an unread counter, pushed so clients can update badges without polling
+ */
+public class UnreadDelta {
+    public enum Counter {
+        NOTIFICATIONS, MESSAGES
+    }
+
+    private Counter counter;
+    private int delta;
+
+    public UnreadDelta(Counter counter, int delta) {
+        this.counter = counter;
+        this.delta = delta;
+    }
+
+    public Counter getCounter() {
+        return counter;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+}
@@ -43,6 +43,10 @@ public class Document {
     @Column(columnDefinition = "TEXT")
     private String comment;
 
+    // Hex SHA-256 of the file content, the ETag of downloads
+    @Column(length = 64)
+    private String contentHash;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime uploadedAt;
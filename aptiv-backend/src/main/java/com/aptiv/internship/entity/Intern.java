@@ -21,7 +21,9 @@ import java.util.List;
 public class Intern {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids (instead of IDENTITY) let Hibernate batch the INSERTs of bulk imports
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interns_id_seq")
+    @SequenceGenerator(name = "interns_id_seq", sequenceName = "interns_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_id_seq")
+    @SequenceGenerator(name = "notifications_id_seq", sequenceName = "notifications_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -34,6 +35,10 @@ public class Notification {
     @Column(nullable = false)
     private Boolean isRead = false;
 
+    // See NotificationService.createNotification; null for notifications that are never deduplicated
+    @Column(length = 64)
+    private String dedupKey;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,14 @@
+package com.aptiv.internship.exception;
+
+/**
+ * The request cannot be served right now (e.g. a bounded work queue is full); the client may retry
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -4,20 +4,29 @@ import com.aptiv.internship.entity.Activity;
 import com.aptiv.internship.entity.Intern;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
+    // Paged reads show the intern name on every row: fetch it in the same query
+    @Override
+    @EntityGraph(attributePaths = "intern")
+    Page<Activity> findAll(Pageable pageable);
+
     List<Activity> findByIntern(Intern intern);
 
+    @EntityGraph(attributePaths = "intern")
     Page<Activity> findByIntern(Intern intern, Pageable pageable);
 
     List<Activity> findByInternAndActivityDateBetween(Intern intern, LocalDate startDate, LocalDate endDate);
@@ -42,10 +51,20 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
     boolean existsByInternAndActivityDate(Intern intern, LocalDate activityDate);
 
+    List<Activity> findByInternIdInOrderByActivityDateAsc(Collection<Long> internIds);
+
     @Query("SELECT a FROM Activity a WHERE a.intern.id IN :internIds AND a.activityDate BETWEEN :startDate AND :endDate")
     List<Activity> findByInternIdsAndDateRange(
             @Param("internIds") List<Long> internIds,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
+
+    // Keyset pagination: rows strictly after the cursor in (createdAt DESC, id DESC) order
+    @Query("SELECT a FROM Activity a JOIN FETCH a.intern " +
+            "WHERE (a.createdAt, a.id) < (:createdAt, :id) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Activity> findKeysetPage(@Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
 }
\ No newline at end of file
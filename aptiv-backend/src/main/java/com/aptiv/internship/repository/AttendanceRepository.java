@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,4 +59,8 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     );
 
     boolean existsByInternAndAttendanceDate(Intern intern, LocalDate attendanceDate);
+
+    // Rows of (intern id, status, count)
+    @Query("SELECT a.intern.id, a.status, COUNT(a) FROM Attendance a WHERE a.intern.id IN :internIds GROUP BY a.intern.id, a.status")
+    List<Object[]> countByInternIdsGroupByStatus(@Param("internIds") Collection<Long> internIds);
 }
\ No newline at end of file
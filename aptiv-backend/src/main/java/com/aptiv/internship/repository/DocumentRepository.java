@@ -4,10 +4,13 @@ import com.aptiv.internship.entity.Document;
 import com.aptiv.internship.entity.Intern;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,8 +18,14 @@ import java.util.List;
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
 
+    // Paged reads show the intern name on every row: fetch it in the same query
+    @Override
+    @EntityGraph(attributePaths = "intern")
+    Page<Document> findAll(Pageable pageable);
+
     List<Document> findByIntern(Intern intern);
 
+    @EntityGraph(attributePaths = "intern")
     Page<Document> findByIntern(Intern intern, Pageable pageable);
 
     List<Document> findByInternAndType(Intern intern, Document.DocumentType type);
@@ -41,4 +50,17 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     );
 
     List<Document> findByType(Document.DocumentType type);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Document d SET d.contentHash = :contentHash WHERE d.id = :id")
+    void updateContentHash(@Param("id") Long id, @Param("contentHash") String contentHash);
+
+    // Keyset pagination: rows strictly after the cursor in (uploadedAt DESC, id DESC) order
+    @Query("SELECT d FROM Document d JOIN FETCH d.intern " +
+            "WHERE (d.uploadedAt, d.id) < (:uploadedAt, :id) " +
+            "ORDER BY d.uploadedAt DESC, d.id DESC")
+    List<Document> findKeysetPage(@Param("uploadedAt") LocalDateTime uploadedAt,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.aptiv.internship.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -12,11 +13,22 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InternRepository extends JpaRepository<Intern, Long>, JpaSpecificationExecutor<Intern> {
+    // Paged reads convert every row to InternResponse, which reads the HR user: fetch it in the same query
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Intern> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Intern> findAll(Specification<Intern> spec, Pageable pageable);
+
     @Query("SELECT i FROM Intern i WHERE " +
             "LOWER(i.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(i.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -39,8 +51,13 @@ public interface InternRepository extends JpaRepository<Intern, Long>, JpaSpecif
 
     Page<Intern> findByUser(User user, Pageable pageable);
 
+    // Broadcast recipients: notifications are pushed to the HR user, so fetch it with the interns
+    @EntityGraph(attributePaths = "user")
     List<Intern> findByStatus(Intern.InternshipStatus status);
 
+    @EntityGraph(attributePaths = "user")
+    List<Intern> findByIdIn(Collection<Long> ids);
+
     @Query("SELECT i FROM Intern i WHERE i.status = :status AND i.endDate BETWEEN :startDate AND :endDate")
     List<Intern> findByStatusAndEndDateBetween(
             @Param("status") Intern.InternshipStatus status,
@@ -78,14 +95,23 @@ public interface InternRepository extends JpaRepository<Intern, Long>, JpaSpecif
     );
 
     List<Intern> findByEndDateBetween(LocalDate localDate, LocalDate localDate1);
+
+    boolean existsByDepartment(String department);
+
+    List<Intern> findByDepartmentOrderByLastNameAscFirstNameAsc(String department);
+    @EntityGraph(attributePaths = "user")
     Page<Intern> findByStatus(Intern.InternshipStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = "user")
     Page<Intern> findByDepartmentContainingIgnoreCase(String department, Pageable pageable);
 
+    @EntityGraph(attributePaths = "user")
     Page<Intern> findByUniversityContainingIgnoreCase(String university, Pageable pageable);
 
+    @EntityGraph(attributePaths = "user")
     Page<Intern> findBySupervisorContainingIgnoreCase(String supervisor, Pageable pageable);
 
+    @EntityGraph(attributePaths = "user")
     Page<Intern> findByMajorContainingIgnoreCase(String major, Pageable pageable);
 
     // Advanced search queries
@@ -138,6 +164,22 @@ public interface InternRepository extends JpaRepository<Intern, Long>, JpaSpecif
             "i.startDate <= CURRENT_DATE AND i.endDate >= CURRENT_DATE")
     long countActiveInternsByDateRange();
 
+    // Grouped counts for statistics: each row is [value, count]
+    @Query("SELECT i.status, COUNT(i) FROM Intern i GROUP BY i.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT i.department, COUNT(i) FROM Intern i WHERE i.department IS NOT NULL GROUP BY i.department")
+    List<Object[]> countGroupedByDepartment();
+
+    @Query("SELECT i.university, COUNT(i) FROM Intern i WHERE i.university IS NOT NULL GROUP BY i.university")
+    List<Object[]> countGroupedByUniversity();
+
+    @Query("SELECT i.major, COUNT(i) FROM Intern i WHERE i.major IS NOT NULL GROUP BY i.major")
+    List<Object[]> countGroupedByMajor();
+
+    @Query("SELECT i.supervisor, COUNT(i) FROM Intern i WHERE i.supervisor IS NOT NULL GROUP BY i.supervisor")
+    List<Object[]> countGroupedBySupervisor();
+
     // Get distinct values for filter options
     @Query("SELECT DISTINCT i.department FROM Intern i WHERE i.department IS NOT NULL ORDER BY i.department")
     List<String> findDistinctDepartments();
@@ -152,6 +194,15 @@ public interface InternRepository extends JpaRepository<Intern, Long>, JpaSpecif
     List<String> findDistinctSupervisors();
     List<Intern> findByEmailIn(List<String> emails);
 
+    @Query("SELECT i.email FROM Intern i WHERE i.email IN :emails")
+    List<String> findEmailsIn(@Param("emails") Collection<String> emails);
+
+    // Keyset pagination: rows strictly after the cursor in (createdAt DESC, id DESC) order
+    @Query("SELECT i FROM Intern i JOIN FETCH i.user " +
+            "WHERE (i.createdAt, i.id) < (:createdAt, :id) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Intern> findKeysetPage(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
     //Optional<Object> findAll(Specification<Intern> spec, Pageable pageable);
 
 }
\ No newline at end of file
@@ -5,11 +5,16 @@ import com.aptiv.internship.entity.Intern;
 import com.aptiv.internship.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -38,16 +43,20 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT m FROM Message m WHERE m.intern.user.id = :userId ORDER BY m.sentAt DESC")
     Page<Message> findByInternUserIdOrderBySentAtDesc(@Param("userId") Long userId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"intern", "sender", "recipient"})
     Page<Message> findByInternIdOrderBySentAtDesc(Long id, Pageable pageable);
 
     // Find all messages for HR (both sent and received)
-    @Query("SELECT m FROM Message m " +
+    @Query(value = "SELECT m FROM Message m " +
             "JOIN FETCH m.intern i " +
             "JOIN FETCH m.sender s " +
             "LEFT JOIN FETCH m.recipient r " +
             "WHERE (m.sender.id = :hrUserId AND m.messageType = 'HR_TO_INTERN') " +
             "OR (m.recipient.id = :hrUserId AND m.messageType = 'INTERN_TO_HR') " +
-            "ORDER BY m.sentAt DESC")
+            "ORDER BY m.sentAt DESC",
+            countQuery = "SELECT COUNT(m) FROM Message m " +
+                    "WHERE (m.sender.id = :hrUserId AND m.messageType = 'HR_TO_INTERN') " +
+                    "OR (m.recipient.id = :hrUserId AND m.messageType = 'INTERN_TO_HR')")
     Page<Message> findAllMessagesForHR(@Param("hrUserId") Long hrUserId, Pageable pageable);
 
     // Find conversation between intern and HR
@@ -63,7 +72,65 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
                                                      @Param("hrUserId") Long hrUserId,
                                                      Pageable pageable);
 
-    long countByRecipientIdAndIsReadFalseAndMessageType(Long recipientId, Message.MessageType messageType);
+    // Keyset pagination: rows strictly after the cursor in (sentAt DESC, id DESC) order
+    @Query("SELECT m FROM Message m " +
+            "JOIN FETCH m.intern i " +
+            "JOIN FETCH m.sender s " +
+            "LEFT JOIN FETCH m.recipient r " +
+            "WHERE ((m.sender.id = :hrUserId AND m.messageType = 'HR_TO_INTERN') " +
+            "OR (m.recipient.id = :hrUserId AND m.messageType = 'INTERN_TO_HR')) " +
+            "AND (m.sentAt, m.id) < (:sentAt, :id) " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findKeysetPageForHR(@Param("hrUserId") Long hrUserId,
+                                      @Param("sentAt") LocalDateTime sentAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
 
-    long countByInternIdAndIsReadFalseAndMessageType(Long id, Message.MessageType messageType);
+    @Query("SELECT m FROM Message m " +
+            "JOIN FETCH m.intern i " +
+            "JOIN FETCH m.sender s " +
+            "LEFT JOIN FETCH m.recipient r " +
+            "WHERE m.intern.id = :internId " +
+            "AND (m.sentAt, m.id) < (:sentAt, :id) " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findKeysetPageForIntern(@Param("internId") Long internId,
+                                          @Param("sentAt") LocalDateTime sentAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    // Counters maintained by the triggers of V15
+    @Query(value = "SELECT COALESCE((SELECT messages FROM user_unread_counts WHERE user_id = :userId), 0)", nativeQuery = true)
+    int findUnreadCountForUser(@Param("userId") Long userId);
+
+    @Query(value = "SELECT COALESCE((SELECT messages FROM intern_unread_counts WHERE intern_id = :internId), 0)", nativeQuery = true)
+    int findUnreadCountForIntern(@Param("internId") Long internId);
+
+    // Bulk mark-as-read: the recipient condition replaces the per-message permission check
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.isRead = false " +
+            "AND m.messageType = com.aptiv.internship.entity.Message.MessageType.INTERN_TO_HR " +
+            "AND m.recipient.id = :userId")
+    int markAllReadForUser(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.isRead = false " +
+            "AND m.messageType = com.aptiv.internship.entity.Message.MessageType.INTERN_TO_HR " +
+            "AND m.recipient.id = :userId AND m.id IN :ids")
+    int markReadForUser(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.isRead = false " +
+            "AND m.messageType = com.aptiv.internship.entity.Message.MessageType.HR_TO_INTERN " +
+            "AND m.intern.id = :internId")
+    int markAllReadForIntern(@Param("internId") Long internId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.isRead = false " +
+            "AND m.messageType = com.aptiv.internship.entity.Message.MessageType.HR_TO_INTERN " +
+            "AND m.intern.id = :internId AND m.id IN :ids")
+    int markReadForIntern(@Param("internId") Long internId, @Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
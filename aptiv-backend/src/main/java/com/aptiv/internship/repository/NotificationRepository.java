@@ -6,11 +6,14 @@ import com.aptiv.internship.entity.Intern;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,10 +48,47 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     void deleteByCreatedAtBefore(LocalDateTime date);
 
-
-    // Alternative method if you prefer to check by intern ID
-    boolean existsByInternIdAndTypeAndMessage(Long internId, Notification.NotificationType type, String message);
-
-    boolean existsByInternAndTypeAndMessage(Intern intern, Notification.NotificationType type, String message);
-    Optional<Notification> findByInternAndTypeAndMessage(Intern intern, Notification.NotificationType type, String message);
+    // Keyset pagination: rows strictly after the cursor in (createdAt DESC, id DESC) order
+    @Query("SELECT n FROM Notification n WHERE n.user = :user " +
+            "AND (n.createdAt, n.id) < (:createdAt, :id) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findKeysetPage(@Param("user") User user,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    /**
+     * Insert the notification unless one with the same dedup key exists, in one statement
+     *
+     * @return the new id, or empty when it was a duplicate
+     */
+    // Read-write: query methods otherwise inherit the repository's read-only default
+    @Transactional
+    @Query(value = "INSERT INTO notifications (title, message, type, is_read, user_id, intern_id, created_at, dedup_key) " +
+            "VALUES (:title, :message, :type, FALSE, :userId, :internId, :createdAt, :dedupKey) " +
+            "ON CONFLICT (dedup_key) DO NOTHING " +
+            "RETURNING id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("title") String title,
+                                  @Param("message") String message,
+                                  @Param("type") String type,
+                                  @Param("userId") Long userId,
+                                  @Param("internId") Long internId,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("dedupKey") String dedupKey);
+
+    Optional<Notification> findByDedupKey(String dedupKey);
+
+    // Counter maintained by the triggers of V15
+    @Query(value = "SELECT COALESCE((SELECT notifications FROM user_unread_counts WHERE user_id = :userId), 0)", nativeQuery = true)
+    int findUnreadCount(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user = :user AND n.isRead = false")
+    int markAllRead(@Param("user") User user);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user = :user AND n.isRead = false AND n.id IN :ids")
+    int markRead(@Param("user") User user, @Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -2,20 +2,24 @@ package com.aptiv.internship.service;
 
 import com.aptiv.internship.dto.request.ActivityRequest;
 import com.aptiv.internship.dto.response.ActivityResponse;
+import com.aptiv.internship.dto.response.CursorPage;
 import com.aptiv.internship.entity.Activity;
 import com.aptiv.internship.entity.Intern;
 import com.aptiv.internship.entity.User; // Assuming User implements UserDetails
 import com.aptiv.internship.exception.ResourceNotFoundException;
 import com.aptiv.internship.repository.ActivityRepository;
 import com.aptiv.internship.repository.InternRepository;
+import com.aptiv.internship.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -45,6 +49,18 @@ public class ActivityService {
                 .map(this::convertToResponse);
     }
 
+    /**
+     * Cursor mode of {@link #getAllActivities(Pageable)}: newest first, no total count
+     */
+    public CursorPage<ActivityResponse> getAllActivities(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Activity> activities = activityRepository.findKeysetPage(
+                after.getTimestamp(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(activities, pageSize, this::convertToResponse,
+                activity -> new KeysetCursor(activity.getCreatedAt(), activity.getId()));
+    }
+
     private Intern getCurrentIntern() {
         String email = getCurrentUserEmail();
         return internRepository.findByEmail(email)
@@ -0,0 +1,161 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.dto.response.DepartmentAttendanceStatsResponse;
+import com.aptiv.internship.dto.response.InternAttendanceStatsResponse;
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.entity.Notification;
+import com.aptiv.internship.exception.ResourceNotFoundException;
+import com.aptiv.internship.repository.InternRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Presence rates and absence streaks, read from the {@code intern_attendance_stats} materialized
+ * view (see V17). The view is computed set-based for all interns and refreshed nightly, so every
+ * read here is one query per intern or per cohort, whatever the number of attendance rows.
+ * After each refresh, HR gets an absence alert for interns whose current absence streak reached
+ * {@code aptiv.internship.notification.max-consecutive-absences}.
+ */
+@Service
+@Slf4j
+public class AttendanceAnalyticsService {
+    // Interns without a row (internship not started yet) read as zero working days
+    private static final String INTERN_STATS_SQL = "SELECT i.id, i.first_name, i.last_name, i.department, " +
+            "COALESCE(s.working_days, 0) AS working_days, COALESCE(s.present_days, 0) AS present_days, " +
+            "COALESCE(s.late_days, 0) AS late_days, COALESCE(s.partial_days, 0) AS partial_days, " +
+            "COALESCE(s.absent_days, 0) AS absent_days, " +
+            "COALESCE(s.longest_absence_streak, 0) AS longest_absence_streak, " +
+            "COALESCE(s.current_absence_streak, 0) AS current_absence_streak, " +
+            "s.current_absence_start, s.computed_at " +
+            "FROM interns i LEFT JOIN intern_attendance_stats s ON s.intern_id = i.id ";
+
+    private static final String DEPARTMENT_STATS_SQL = "SELECT i.department, COUNT(*) AS interns, " +
+            "COALESCE(SUM(s.working_days), 0) AS working_days, COALESCE(SUM(s.present_days), 0) AS present_days, " +
+            "COALESCE(SUM(s.late_days), 0) AS late_days, COALESCE(SUM(s.partial_days), 0) AS partial_days, " +
+            "COALESCE(SUM(s.absent_days), 0) AS absent_days, " +
+            "COUNT(*) FILTER (WHERE s.current_absence_streak >= ?) AS over_limit, MAX(s.computed_at) AS computed_at " +
+            "FROM interns i LEFT JOIN intern_attendance_stats s ON s.intern_id = i.id " +
+            "WHERE i.status = 'ACTIVE' GROUP BY i.department ORDER BY i.department";
+
+    private static final String ABSENCE_ALERTS_SQL = "SELECT s.intern_id, s.current_absence_streak, s.current_absence_start " +
+            "FROM intern_attendance_stats s JOIN interns i ON i.id = s.intern_id " +
+            "WHERE i.status = 'ACTIVE' AND s.current_absence_streak >= ?";
+
+    private final InternRepository internRepository;
+    private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxConsecutiveAbsences;
+    private final RowMapper<InternAttendanceStatsResponse> internStatsMapper;
+
+    public AttendanceAnalyticsService(InternRepository internRepository,
+                                      NotificationService notificationService,
+                                      JdbcTemplate jdbcTemplate,
+                                      @Value("${aptiv.internship.notification.max-consecutive-absences:5}") int maxConsecutiveAbsences) {
+        this.internRepository = internRepository;
+        this.notificationService = notificationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxConsecutiveAbsences = maxConsecutiveAbsences;
+        this.internStatsMapper = (rs, rowNum) -> {
+            InternAttendanceStatsResponse response = new InternAttendanceStatsResponse();
+            response.setInternId(rs.getLong("id"));
+            response.setInternName(rs.getString("first_name") + " " + rs.getString("last_name"));
+            response.setDepartment(rs.getString("department"));
+            response.setWorkingDays(rs.getLong("working_days"));
+            response.setPresentDays(rs.getLong("present_days"));
+            response.setLateDays(rs.getLong("late_days"));
+            response.setPartialDays(rs.getLong("partial_days"));
+            response.setAbsentDays(rs.getLong("absent_days"));
+            response.setPresenceRate(presenceRate(response.getWorkingDays(), response.getAbsentDays()));
+            response.setLongestAbsenceStreak(rs.getLong("longest_absence_streak"));
+            response.setCurrentAbsenceStreak(rs.getLong("current_absence_streak"));
+            Date absenceStart = rs.getDate("current_absence_start");
+            response.setCurrentAbsenceStart(absenceStart != null ? absenceStart.toLocalDate() : null);
+            response.setAbsenceLimitReached(response.getCurrentAbsenceStreak() >= maxConsecutiveAbsences);
+            Timestamp computedAt = rs.getTimestamp("computed_at");
+            response.setComputedAt(computedAt != null ? computedAt.toLocalDateTime() : null);
+            return response;
+        };
+    }
+
+    public InternAttendanceStatsResponse getInternStats(Long internId) {
+        return jdbcTemplate.query(INTERN_STATS_SQL + "WHERE i.id = ?", internStatsMapper, internId).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Intern", "id", internId));
+    }
+
+    /**
+     * Stats of every intern of a department, worst current absence streak first
+     */
+    public List<InternAttendanceStatsResponse> getDepartmentInternStats(String department) {
+        if (!internRepository.existsByDepartment(department)) {
+            throw new ResourceNotFoundException("Department", "name", department);
+        }
+        return jdbcTemplate.query(INTERN_STATS_SQL + "WHERE i.department = ? " +
+                        "ORDER BY current_absence_streak DESC, i.last_name, i.first_name, i.id",
+                internStatsMapper, department);
+    }
+
+    /**
+     * Totals of the active interns of each department
+     */
+    public List<DepartmentAttendanceStatsResponse> getDepartmentStats() {
+        return jdbcTemplate.query(DEPARTMENT_STATS_SQL, (rs, rowNum) -> {
+            DepartmentAttendanceStatsResponse response = new DepartmentAttendanceStatsResponse();
+            response.setDepartment(rs.getString("department"));
+            response.setInterns(rs.getLong("interns"));
+            response.setWorkingDays(rs.getLong("working_days"));
+            response.setPresentDays(rs.getLong("present_days"));
+            response.setLateDays(rs.getLong("late_days"));
+            response.setPartialDays(rs.getLong("partial_days"));
+            response.setAbsentDays(rs.getLong("absent_days"));
+            response.setPresenceRate(presenceRate(response.getWorkingDays(), response.getAbsentDays()));
+            response.setInternsOverAbsenceLimit(rs.getLong("over_limit"));
+            Timestamp computedAt = rs.getTimestamp("computed_at");
+            response.setComputedAt(computedAt != null ? computedAt.toLocalDateTime() : null);
+            return response;
+        }, maxConsecutiveAbsences);
+    }
+
+    @Scheduled(cron = "0 30 1 * * ?") // Daily at 01:30, once yesterday is complete
+    public void refreshStats() {
+        long start = System.nanoTime();
+        // CONCURRENTLY: dashboards keep reading the previous rollup while the new one is computed
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY intern_attendance_stats");
+        log.info("Refreshed attendance stats in {} ms", (System.nanoTime() - start) / 1_000_000);
+        sendAbsenceAlerts();
+    }
+
+    private void sendAbsenceAlerts() {
+        Map<Long, LocalDate> streakStarts = new HashMap<>();
+        jdbcTemplate.query(ABSENCE_ALERTS_SQL, (RowCallbackHandler) rs ->
+                streakStarts.put(rs.getLong("intern_id"), rs.getDate("current_absence_start").toLocalDate()),
+                maxConsecutiveAbsences);
+        if (streakStarts.isEmpty()) {
+            return;
+        }
+        for (Intern intern : internRepository.findByIdIn(streakStarts.keySet())) {
+            // Same text every night of the same streak: the notification dedup key sends it once
+            String message = String.format("%s %s has been absent for %d or more consecutive working days since %s",
+                    intern.getFirstName(), intern.getLastName(), maxConsecutiveAbsences, streakStarts.get(intern.getId()));
+            notificationService.createNotification("Repeated Absences", message,
+                    Notification.NotificationType.ABSENCE_ALERT, intern.getUser(), intern);
+        }
+        log.info("Checked absence alerts of {} interns absent for {} or more days", streakStarts.size(), maxConsecutiveAbsences);
+    }
+
+    private static double presenceRate(long workingDays, long absentDays) {
+        return workingDays == 0 ? 0 : Math.round((workingDays - absentDays) * 1000.0 / workingDays) / 10.0;
+    }
+}
@@ -0,0 +1,102 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.dto.response.DailyAttendanceSummaryResponse;
+import com.aptiv.internship.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nightly attendance bookkeeping. Check-in only creates rows on days an intern shows up, so the
+ * job first records an ABSENT row for every weekday of an active internship without one, then
+ * recomputes the {@code attendance_daily_summary} rows of those days. Both are single set-based
+ * statements over the last {@code aptiv.internship.attendance.catch-up-days} days, so a missed
+ * run is caught up by the next one, and reruns change nothing.
+ */
+@Service
+@Slf4j
+public class AttendanceRollupService {
+    // The unique (intern_id, attendance_date) index skips days that already have a row
+    private static final String MARK_ABSENCES_SQL = "INSERT INTO attendance (attendance_date, status, remarks, intern_id) " +
+            "SELECT CAST(d AS DATE), 'ABSENT', 'No check-in', i.id " +
+            "FROM interns i CROSS JOIN generate_series(CAST(? AS DATE), CAST(? AS DATE), INTERVAL '1 day') d " +
+            "WHERE i.status = 'ACTIVE' AND CAST(d AS DATE) BETWEEN i.start_date AND i.end_date " +
+            "AND EXTRACT(ISODOW FROM d) < 6 " +
+            "ON CONFLICT (intern_id, attendance_date) DO NOTHING";
+
+    // Delete then insert, so a department left by every intern since the last run loses its row
+    private static final String DELETE_SUMMARY_SQL = "DELETE FROM attendance_daily_summary WHERE attendance_date BETWEEN ? AND ?";
+
+    private static final String INSERT_SUMMARY_SQL = "INSERT INTO attendance_daily_summary " +
+            "(attendance_date, department, present, late, partial, absent) " +
+            "SELECT a.attendance_date, i.department, " +
+            "COUNT(*) FILTER (WHERE a.status = 'PRESENT'), COUNT(*) FILTER (WHERE a.status = 'LATE'), " +
+            "COUNT(*) FILTER (WHERE a.status = 'PARTIAL'), COUNT(*) FILTER (WHERE a.status = 'ABSENT') " +
+            "FROM attendance a JOIN interns i ON i.id = a.intern_id " +
+            "WHERE a.attendance_date BETWEEN ? AND ? " +
+            "GROUP BY a.attendance_date, i.department";
+
+    private static final int MAX_SUMMARY_DAYS = 366;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int catchUpDays;
+
+    public AttendanceRollupService(JdbcTemplate jdbcTemplate,
+                                   @Value("${aptiv.internship.attendance.catch-up-days:7}") int catchUpDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catchUpDays = Math.max(catchUpDays, 1);
+    }
+
+    // Before the attendance stats refresh at 01:30, so the rollup sees the new ABSENT rows
+    @Scheduled(cron = "0 45 0 * * ?") // Daily at 00:45
+    @Transactional
+    public void markAbsencesAndSummarize() {
+        LocalDate to = LocalDate.now().minusDays(1);
+        Date from = Date.valueOf(to.minusDays(catchUpDays - 1));
+        Date until = Date.valueOf(to);
+
+        int absences = jdbcTemplate.update(MARK_ABSENCES_SQL, from, until);
+        jdbcTemplate.update(DELETE_SUMMARY_SQL, from, until);
+        int summaries = jdbcTemplate.update(INSERT_SUMMARY_SQL, from, until);
+        log.info("Marked {} absences and rebuilt {} daily attendance summaries from {} to {}", absences, summaries, from, until);
+    }
+
+    /**
+     * Daily counts per department, oldest day first; all departments when {@code department} is null
+     */
+    public List<DailyAttendanceSummaryResponse> getDailySummary(LocalDate from, LocalDate to, String department) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SUMMARY_DAYS) {
+            throw new ValidationException("The range must not exceed " + MAX_SUMMARY_DAYS + " days");
+        }
+        StringBuilder sql = new StringBuilder("SELECT attendance_date, department, present, late, partial, absent " +
+                "FROM attendance_daily_summary WHERE attendance_date BETWEEN ? AND ?");
+        List<Object> params = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        if (department != null) {
+            sql.append(" AND department = ?");
+            params.add(department);
+        }
+        sql.append(" ORDER BY attendance_date, department");
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            DailyAttendanceSummaryResponse response = new DailyAttendanceSummaryResponse();
+            response.setDate(rs.getDate("attendance_date").toLocalDate());
+            response.setDepartment(rs.getString("department"));
+            response.setPresent(rs.getInt("present"));
+            response.setLate(rs.getInt("late"));
+            response.setPartial(rs.getInt("partial"));
+            response.setAbsent(rs.getInt("absent"));
+            return response;
+        }, params.toArray());
+    }
+}
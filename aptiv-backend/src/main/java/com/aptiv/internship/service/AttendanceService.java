@@ -2,76 +2,86 @@ package com.aptiv.internship.service;
 
 import com.aptiv.internship.dto.response.AttendanceResponse;
 import com.aptiv.internship.entity.Attendance;
-import com.aptiv.internship.entity.Intern;
 import com.aptiv.internship.exception.ResourceNotFoundException;
-import com.aptiv.internship.repository.AttendanceRepository;
-import com.aptiv.internship.repository.InternRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.sql.Date;
+import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
+/**
+ * Check-in and check-out are single statements keyed by the unique (intern_id, attendance_date)
+ * index: the intern is resolved from the login email inside the statement, and concurrent or
+ * repeated requests for the same day converge on one row without a read-modify-write.
+ */
 @Service
 @RequiredArgsConstructor
 public class AttendanceService {
-    private final AttendanceRepository attendanceRepository;
-    private final InternRepository internRepository;
-    private final NotificationService notificationService;
+    // The first check-in of the day wins: retries and double clicks return the existing row
+    // unchanged, and a row created without a check-in (e.g. marked absent) becomes PRESENT
+    private static final String CHECK_IN_SQL = "WITH upserted AS (" +
+            "INSERT INTO attendance (attendance_date, check_in_time, status, intern_id) " +
+            "SELECT ?, ?, 'PRESENT', i.id FROM interns i WHERE i.email = ? " +
+            "ON CONFLICT (intern_id, attendance_date) DO UPDATE SET " +
+            "status = CASE WHEN attendance.check_in_time IS NULL THEN EXCLUDED.status ELSE attendance.status END, " +
+            "check_in_time = COALESCE(attendance.check_in_time, EXCLUDED.check_in_time) " +
+            "RETURNING *) " +
+            "SELECT u.*, i.first_name, i.last_name FROM upserted u JOIN interns i ON i.id = u.intern_id";
 
-    public AttendanceResponse checkIn() {
-        Intern intern = getCurrentIntern();
-        LocalDate today = LocalDate.now();
+    // The latest check-out wins, so a delayed retry cannot move it back
+    private static final String CHECK_OUT_SQL = "UPDATE attendance a " +
+            "SET check_out_time = GREATEST(COALESCE(a.check_out_time, CAST(? AS TIME)), CAST(? AS TIME)) " +
+            "FROM interns i WHERE i.id = a.intern_id AND i.email = ? AND a.attendance_date = ? " +
+            "RETURNING a.*, i.first_name, i.last_name";
 
-        Attendance attendance = attendanceRepository.findByInternAndAttendanceDate(intern, today)
-                .orElseGet(() -> {
-                    Attendance newAttendance = new Attendance();
-                    newAttendance.setIntern(intern);
-                    newAttendance.setAttendanceDate(today);
-                    return newAttendance;
-                });
+    private static final RowMapper<AttendanceResponse> RESPONSE_MAPPER = (rs, rowNum) -> {
+        AttendanceResponse response = new AttendanceResponse();
+        response.setId(rs.getLong("id"));
+        response.setAttendanceDate(rs.getDate("attendance_date").toLocalDate());
+        Time checkIn = rs.getTime("check_in_time");
+        response.setCheckInTime(checkIn != null ? checkIn.toLocalTime() : null);
+        Time checkOut = rs.getTime("check_out_time");
+        response.setCheckOutTime(checkOut != null ? checkOut.toLocalTime() : null);
+        response.setStatus(Attendance.AttendanceStatus.valueOf(rs.getString("status")));
+        response.setRemarks(rs.getString("remarks"));
+        response.setInternId(rs.getLong("intern_id"));
+        response.setInternName(rs.getString("first_name") + " " + rs.getString("last_name"));
+        return response;
+    };
 
-        attendance.setCheckInTime(LocalTime.now());
-        attendance.setStatus(Attendance.AttendanceStatus.PRESENT);
+    private final JdbcTemplate jdbcTemplate;
 
-        return convertToResponse(attendanceRepository.save(attendance));
+    public AttendanceResponse checkIn() {
+        String email = getCurrentUserEmail();
+        List<AttendanceResponse> rows = jdbcTemplate.query(CHECK_IN_SQL, RESPONSE_MAPPER,
+                Date.valueOf(LocalDate.now()), Time.valueOf(LocalTime.now()), email);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Intern", "email", email);
+        }
+        return rows.get(0);
     }
 
     public AttendanceResponse checkOut() {
-        Intern intern = getCurrentIntern();
-        LocalDate today = LocalDate.now();
-
-        Attendance attendance = attendanceRepository.findByInternAndAttendanceDate(intern, today)
-                .orElseThrow(() -> new ResourceNotFoundException("Attendance", "date", today.toString()));
-
-        attendance.setCheckOutTime(LocalTime.now());
-
-        return convertToResponse(attendanceRepository.save(attendance));
-    }
-
-    private Intern getCurrentIntern() {
         String email = getCurrentUserEmail();
-        return internRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Intern", "email", email));
+        LocalDate today = LocalDate.now();
+        Time now = Time.valueOf(LocalTime.now());
+        List<AttendanceResponse> rows = jdbcTemplate.query(CHECK_OUT_SQL, RESPONSE_MAPPER,
+                now, now, email, Date.valueOf(today));
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Attendance", "date", today.toString());
+        }
+        return rows.get(0);
     }
 
     private String getCurrentUserEmail() {
         UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         return userDetails.getUsername(); // Assuming email is the username
     }
-
-    private AttendanceResponse convertToResponse(Attendance attendance) {
-        AttendanceResponse response = new AttendanceResponse();
-        response.setId(attendance.getId());
-        response.setAttendanceDate(attendance.getAttendanceDate());
-        response.setCheckInTime(attendance.getCheckInTime());
-        response.setCheckOutTime(attendance.getCheckOutTime());
-        response.setStatus(attendance.getStatus());
-        response.setRemarks(attendance.getRemarks());
-        response.setInternId(attendance.getIntern().getId());
-        response.setInternName(attendance.getIntern().getFirstName() + " " + attendance.getIntern().getLastName());
-        return response;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,242 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.dto.response.BroadcastJobResponse;
+import com.aptiv.internship.dto.response.MessageResponse;
+import com.aptiv.internship.dto.response.UnreadDelta;
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.entity.Message;
+import com.aptiv.internship.entity.Notification;
+import com.aptiv.internship.entity.User;
+import com.aptiv.internship.exception.ResourceNotFoundException;
+import com.aptiv.internship.repository.InternRepository;
+import com.aptiv.internship.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the same HR message to many interns in the background. Recipients are resolved with
+ * one query, then messages, notifications and outbox emails are written in batched chunks, each
+ * in its own transaction. Emails go through {@link EmailOutboxService}, whose worker pool bounds
+ * the SMTP concurrency. Callers get a job id and poll {@link #getJob} for progress.
+ */
+@Service
+@Slf4j
+public class BroadcastService {
+    private static final int CHUNK_SIZE = 500;
+    // Finished jobs stay queryable for this long
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    // Messages use IDENTITY ids, which Hibernate cannot batch: insert them with a JDBC batch
+    private static final String INSERT_MESSAGE_SQL = "INSERT INTO messages " +
+            "(subject, content, is_read, intern_id, sender_id, sent_at, message_type) " +
+            "VALUES (?, ?, FALSE, ?, ?, ?, ?)";
+
+    private final InternRepository internRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final EmailOutboxService emailOutboxService;
+    private final RealtimePublisher realtimePublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "message-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, BroadcastJob> jobs = new ConcurrentHashMap<>();
+
+    public BroadcastService(InternRepository internRepository,
+                            NotificationRepository notificationRepository,
+                            NotificationService notificationService,
+                            EmailOutboxService emailOutboxService,
+                            RealtimePublisher realtimePublisher,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.internRepository = internRepository;
+        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
+        this.emailOutboxService = emailOutboxService;
+        this.realtimePublisher = realtimePublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Queue a broadcast to the given interns. Unknown ids are counted as skipped.
+     */
+    public BroadcastJobResponse broadcastToInterns(List<Long> internIds, String subject, String content, User hrUser) {
+        List<Long> distinctIds = internIds.stream().distinct().toList();
+        List<Intern> recipients = internRepository.findByIdIn(distinctIds);
+        return submit(recipients, distinctIds.size() - recipients.size(), subject, content, hrUser).toResponse();
+    }
+
+    /**
+     * Queue a broadcast to every active intern
+     */
+    public BroadcastJobResponse broadcastToActiveInterns(String subject, String content, User hrUser) {
+        return submit(internRepository.findByStatus(Intern.InternshipStatus.ACTIVE), 0, subject, content, hrUser).toResponse();
+    }
+
+    public BroadcastJobResponse getJob(String jobId) {
+        BroadcastJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Broadcast", "id", jobId);
+        }
+        return job.toResponse();
+    }
+
+    @Scheduled(fixedDelay = 600000)
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private BroadcastJob submit(List<Intern> recipients, int skipped, String subject, String content, User hrUser) {
+        // Complete before the job is visible, so a poll never sees a partial count
+        BroadcastJob job = new BroadcastJob(UUID.randomUUID().toString(), recipients.size(), skipped);
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job, recipients, subject, content, hrUser));
+        log.info("Broadcast {} queued for {} interns by HR {}", job.id, recipients.size(), hrUser.getId());
+        return job;
+    }
+
+    private void run(BroadcastJob job, List<Intern> recipients, String subject, String content, User hrUser) {
+        job.status = BroadcastJobResponse.Status.RUNNING;
+        for (int from = 0; from < recipients.size(); from += CHUNK_SIZE) {
+            List<Intern> chunk = recipients.subList(from, Math.min(from + CHUNK_SIZE, recipients.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> sendChunk(chunk, subject, content, hrUser));
+                job.sent.addAndGet(chunk.size());
+            } catch (Exception e) {
+                log.error("Broadcast {} failed for a chunk of {} interns: {}", job.id, chunk.size(), e.getMessage(), e);
+                job.failed.addAndGet(chunk.size());
+                job.error = e.getMessage();
+            }
+        }
+        job.status = job.failed.get() == 0 ? BroadcastJobResponse.Status.COMPLETED : BroadcastJobResponse.Status.COMPLETED_WITH_ERRORS;
+        job.finishedAt = LocalDateTime.now();
+        log.info("Broadcast {} finished: {} sent, {} failed", job.id, job.sent.get(), job.failed.get());
+    }
+
+    private void sendChunk(List<Intern> chunk, String subject, String content, User hrUser) {
+        LocalDateTime sentAt = LocalDateTime.now();
+        KeyHolder messageIds = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_MESSAGE_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, subject);
+                        ps.setString(2, content);
+                        ps.setLong(3, chunk.get(i).getId());
+                        ps.setLong(4, hrUser.getId());
+                        ps.setTimestamp(5, Timestamp.valueOf(sentAt));
+                        ps.setString(6, Message.MessageType.HR_TO_INTERN.name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                }, messageIds);
+        List<Map<String, Object>> keys = messageIds.getKeyList();
+
+        // Detached recipients are only used as foreign key references
+        List<Notification> notifications = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Intern intern = chunk.get(i);
+            Notification notification = new Notification();
+            notification.setTitle(subject);
+            notification.setMessage(content);
+            notification.setType(Notification.NotificationType.MESSAGE_FROM_HR);
+            notification.setUser(intern.getUser());
+            notification.setIntern(intern);
+            notifications.add(notification);
+
+            emailOutboxService.enqueue(intern.getEmail(), "[Internship Message] " + subject,
+                    InternService.buildEmailBody(content, hrUser, intern));
+
+            // Same pushes as a single message: the message and its unread increment to the intern
+            Long messageId = ((Number) keys.get(i).get("id")).longValue();
+            realtimePublisher.sendToUser(intern.getEmail(), RealtimePublisher.MESSAGES,
+                    toMessageResponse(messageId, subject, content, sentAt, intern, hrUser));
+            realtimePublisher.unreadChanged(intern.getEmail(), UnreadDelta.Counter.MESSAGES, 1);
+        }
+        notificationRepository.saveAll(notifications).forEach(notificationService::publishCreated);
+    }
+
+    private static MessageResponse toMessageResponse(Long id, String subject, String content, LocalDateTime sentAt,
+                                                     Intern intern, User hrUser) {
+        MessageResponse response = new MessageResponse();
+        response.setId(id);
+        response.setSubject(subject);
+        response.setContent(content);
+        response.setIsRead(false);
+        response.setSentAt(sentAt);
+        response.setMessageType(Message.MessageType.HR_TO_INTERN.name());
+        response.setInternId(intern.getId());
+        response.setInternName(intern.getFirstName() + " " + intern.getLastName());
+        response.setSenderId(hrUser.getId());
+        response.setSenderName(hrUser.getFirstName() + " " + hrUser.getLastName());
+        return response;
+    }
+
+    private static final class BroadcastJob {
+        private final String id;
+        private final int total;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final int skipped;
+        private volatile BroadcastJobResponse.Status status = BroadcastJobResponse.Status.QUEUED;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        BroadcastJob(String id, int total, int skipped) {
+            this.id = id;
+            this.total = total;
+            this.skipped = skipped;
+        }
+
+        BroadcastJobResponse toResponse() {
+            BroadcastJobResponse response = new BroadcastJobResponse();
+            response.setId(id);
+            response.setStatus(status);
+            response.setTotal(total);
+            response.setSent(sent.get());
+            response.setFailed(failed.get());
+            response.setSkipped(skipped);
+            response.setCreatedAt(createdAt);
+            response.setFinishedAt(finishedAt);
+            response.setError(error);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.entity.Activity;
+import com.aptiv.internship.entity.Attendance;
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.exception.ResourceNotFoundException;
+import com.aptiv.internship.exception.ServiceUnavailableException;
+import com.aptiv.internship.repository.ActivityRepository;
+import com.aptiv.internship.repository.AttendanceRepository;
+import com.aptiv.internship.repository.InternRepository;
+import com.aptiv.internship.util.ReportGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds end-of-internship packs: one activity report per intern of a cohort (department and/or
+ * status), written into a ZIP stream as they are rendered. Data is loaded per chunk of interns
+ * with one query per table, PDFs are rendered in parallel on a fork-join pool, and only a
+ * bounded window of rendered PDFs is held in memory while the ZIP is written in cohort order.
+ */
+@Service
+@Slf4j
+public class CohortReportService {
+    private static final int CHUNK_SIZE = 100;
+
+    private final InternRepository internRepository;
+    private final ActivityRepository activityRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final ForkJoinPool renderPool;
+    private final int window;
+    // Each pack keeps the render pool busy: run only a few at a time
+    private final Semaphore runningPacks;
+
+    public CohortReportService(InternRepository internRepository,
+                               ActivityRepository activityRepository,
+                               AttendanceRepository attendanceRepository,
+                               @Value("${aptiv.internship.reports.cohort.parallelism:4}") int parallelism,
+                               @Value("${aptiv.internship.reports.cohort.max-concurrent:2}") int maxConcurrent) {
+        this.internRepository = internRepository;
+        this.activityRepository = activityRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.renderPool = new ForkJoinPool(parallelism);
+        this.window = parallelism * 2;
+        this.runningPacks = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Interns of the cohort, in pack order. Fails when the cohort is empty, so the caller can
+     * answer 404 before starting the response.
+     */
+    public List<Intern> findCohort(String department, Intern.InternshipStatus status) {
+        Specification<Intern> spec = (root, query, cb) -> cb.conjunction();
+        if (department != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("department"), department));
+        }
+        if (status != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        List<Intern> interns = internRepository.findAll(spec, Sort.by("lastName", "firstName", "id"));
+        if (interns.isEmpty()) {
+            throw new ResourceNotFoundException("Cohort", "filter", describe(department, status));
+        }
+        return interns;
+    }
+
+    /**
+     * Write the ZIP of the cohort's reports to {@code out}. A report that fails to render is
+     * replaced by a text entry with the error, so one bad record does not abort the pack.
+     */
+    public void writeCohortPack(List<Intern> interns, OutputStream out) throws IOException {
+        if (!runningPacks.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many report packs being generated, retry shortly");
+        }
+        long start = System.nanoTime();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            // PDFs are already compressed: favour speed
+            zip.setLevel(Deflater.BEST_SPEED);
+            for (int from = 0; from < interns.size(); from += CHUNK_SIZE) {
+                writeChunk(interns.subList(from, Math.min(from + CHUNK_SIZE, interns.size())), zip);
+            }
+        } finally {
+            runningPacks.release();
+        }
+        log.info("Wrote report pack of {} interns in {} ms", interns.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    private void writeChunk(List<Intern> chunk, ZipOutputStream zip) throws IOException {
+        List<Long> internIds = chunk.stream().map(Intern::getId).toList();
+        LocalDate from = chunk.stream().map(Intern::getStartDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = chunk.stream().map(Intern::getEndDate).max(Comparator.naturalOrder()).orElseThrow();
+        Map<Long, List<Activity>> activities = activityRepository.findByInternIdsAndDateRange(internIds, from, to).stream()
+                .sorted(Comparator.comparing(Activity::getActivityDate))
+                .collect(Collectors.groupingBy(activity -> activity.getIntern().getId()));
+        Map<Long, Map<Attendance.AttendanceStatus, Long>> attendance = new HashMap<>();
+        for (Object[] row : attendanceRepository.countByInternIdsGroupByStatus(internIds)) {
+            attendance.computeIfAbsent((Long) row[0], id -> new EnumMap<>(Attendance.AttendanceStatus.class))
+                    .put((Attendance.AttendanceStatus) row[1], (Long) row[2]);
+        }
+
+        // Sliding window: keep at most `window` renders in flight, write them in order
+        Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+        Deque<Intern> pendingInterns = new ArrayDeque<>();
+        for (Intern intern : chunk) {
+            if (pending.size() >= window) {
+                writeEntry(pendingInterns.poll(), pending.poll(), zip);
+            }
+            List<Activity> internActivities = activities.getOrDefault(intern.getId(), List.of());
+            Map<Attendance.AttendanceStatus, Long> internAttendance = attendance.getOrDefault(intern.getId(), Map.of());
+            pending.add(CompletableFuture.supplyAsync(() -> render(intern, internActivities, internAttendance), renderPool));
+            pendingInterns.add(intern);
+        }
+        while (!pending.isEmpty()) {
+            writeEntry(pendingInterns.poll(), pending.poll(), zip);
+        }
+    }
+
+    private static byte[] render(Intern intern, List<Activity> activities, Map<Attendance.AttendanceStatus, Long> attendance) {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        ReportGenerator.writeActivityReport(intern, activities, attendance, pdf);
+        return pdf.toByteArray();
+    }
+
+    private static void writeEntry(Intern intern, CompletableFuture<byte[]> render, ZipOutputStream zip) throws IOException {
+        String baseName = (intern.getLastName() + "_" + intern.getFirstName()).replaceAll("[^A-Za-z0-9_-]", "_")
+                + "_" + intern.getId();
+        byte[] content;
+        String entryName;
+        try {
+            content = render.join();
+            entryName = baseName + ".pdf";
+        } catch (Exception e) {
+            log.error("Failed to render report of intern {}: {}", intern.getId(), e.getMessage(), e);
+            content = ("Report generation failed: " + e.getMessage()).getBytes(StandardCharsets.UTF_8);
+            entryName = baseName + ".error.txt";
+        }
+        zip.putNextEntry(new ZipEntry(entryName));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static String describe(String department, Intern.InternshipStatus status) {
+        return "department=" + (department != null ? department : "*") + ", status=" + (status != null ? status : "*");
+    }
+}
@@ -1,5 +1,6 @@
 package com.aptiv.internship.service;
 
+import com.aptiv.internship.dto.response.CursorPage;
 import com.aptiv.internship.dto.response.DocumentResponse;
 import com.aptiv.internship.entity.Document;
 import com.aptiv.internship.entity.Intern;
@@ -7,12 +8,13 @@ import com.aptiv.internship.exception.ResourceNotFoundException;
 import com.aptiv.internship.repository.DocumentRepository;
 import com.aptiv.internship.repository.InternRepository;
 import com.aptiv.internship.util.FileUtils;
+import com.aptiv.internship.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -24,15 +26,22 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class DocumentService {
     private final DocumentRepository documentRepository;
     private final InternRepository internRepository;
@@ -40,25 +49,27 @@ public class DocumentService {
     @Value("${aptiv.internship.file-storage-path}")
     private String fileStoragePath;
 
+    /**
+     * Store the upload in the content-addressed store: the multipart is streamed to a temp file
+     * while its SHA-256 is computed, then moved to {@code objects/<2 hex>/<hash>}. Identical files
+     * are stored once, and memory use does not depend on the file size.
+     */
     public DocumentResponse uploadDocument(MultipartFile file, String type) {
         Intern intern = getCurrentIntern();
+        Document.DocumentType documentType = Document.DocumentType.valueOf(type);
 
         try {
             String originalFilename = file.getOriginalFilename();
-            String fileExtension = FileUtils.getFileExtension(originalFilename);
-            String uniqueFilename = System.currentTimeMillis() + fileExtension;
-            Path filePath = Paths.get(fileStoragePath, uniqueFilename);
-
-            Files.createDirectories(filePath.getParent());
-            Files.write(filePath, file.getBytes());
+            StoredFile stored = storeContent(file);
 
             Document document = new Document();
-            document.setFileName(uniqueFilename);
+            document.setFileName(stored.relativePath);
             document.setOriginalFileName(originalFilename);
-            document.setMimeType(file.getContentType());
-            document.setFileSize(file.getSize());
-            document.setFilePath(filePath.toString());
-            document.setType(Document.DocumentType.valueOf(type));
+            document.setMimeType(file.getContentType() != null ? file.getContentType() : FileUtils.getMimeType(originalFilename));
+            document.setFileSize(stored.size);
+            document.setFilePath(stored.path.toString());
+            document.setContentHash(stored.hash);
+            document.setType(documentType);
             document.setIntern(intern);
             document.setUploadedAt(LocalDateTime.now());
 
@@ -68,6 +79,36 @@ public class DocumentService {
         }
     }
 
+    private StoredFile storeContent(MultipartFile file) throws IOException {
+        Path basePath = Paths.get(fileStoragePath).toAbsolutePath().normalize();
+        // The temp file lives under the store so the final move is a rename on the same file system
+        Path tempDir = Files.createDirectories(basePath.resolve("tmp"));
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String relativePath = "objects/" + hash.substring(0, 2) + "/" + hash;
+            Path target = basePath.resolve(relativePath);
+
+            if (Files.exists(target)) {
+                log.debug("Upload of {} bytes deduplicated to {}", size, relativePath);
+            } else {
+                Files.createDirectories(target.getParent());
+                // A concurrent upload of the same content may win the race: it wrote the same bytes
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new StoredFile(relativePath, target, hash, size);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
     @Transactional(readOnly = true)
     public Page<DocumentResponse> getMyDocuments(Pageable pageable) {
         Intern intern = getCurrentIntern();
@@ -81,6 +122,19 @@ public class DocumentService {
                 .map(this::convertToResponse);
     }
 
+    /**
+     * Cursor mode of {@link #getAllDocuments(Pageable)}: newest first, no total count
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DocumentResponse> getAllDocuments(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Document> documents = documentRepository.findKeysetPage(
+                after.getTimestamp(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(documents, pageSize, this::convertToResponse,
+                document -> new KeysetCursor(document.getUploadedAt(), document.getId()));
+    }
+
     // Make this public so controller can reuse it
     @Transactional(readOnly = true)
     public Document getDocumentEntity(Long id) {
@@ -89,7 +143,7 @@ public class DocumentService {
     }
 
     // PUBLIC: load resource and enforce authorization (HR can access any; intern only their own)
-    public Resource loadDocumentAsResource(Document document) {
+    public FileSystemResource loadDocumentAsResource(Document document) {
         // Authorization check
         if (!isCurrentUserHR()) {
             // current user must be the owner intern
@@ -107,18 +161,38 @@ public class DocumentService {
             throw new RuntimeException("Cannot access file outside configured storage directory");
         }
 
-        try {
-            UrlResource resource = new UrlResource(filePath.toUri());
-            if (resource.exists() && resource.isReadable()) {
-                // Use InputStreamResource if you want streaming, but UrlResource is fine here
-                return new InputStreamResource(resource.getInputStream());
-            } else {
-                throw new ResourceNotFoundException("File", "fileName", document.getFileName());
+        // A file resource (unlike an input stream) lets the container serve byte ranges and
+        // send the file without copying it through the JVM
+        FileSystemResource resource = new FileSystemResource(filePath);
+        if (!resource.exists() || !resource.isReadable()) {
+            throw new ResourceNotFoundException("File", "fileName", document.getFileName());
+        }
+        return resource;
+    }
+
+    /**
+     * Hex SHA-256 of the document content. Computed and stored on first use for documents
+     * uploaded without one; stored documents never change, so it stays valid.
+     */
+    public String getContentHash(Document document, FileSystemResource resource) {
+        if (document.getContentHash() != null) {
+            return document.getContentHash();
+        }
+        try (InputStream in = resource.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
             }
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Invalid file path", e);
+            String hash = HexFormat.of().formatHex(digest.digest());
+            documentRepository.updateContentHash(document.getId(), hash);
+            document.setContentHash(hash);
+            return hash;
         } catch (IOException e) {
-            throw new RuntimeException("Failed to open file stream", e);
+            throw new RuntimeException("Failed to read file: " + e.getMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -160,4 +234,18 @@ public class DocumentService {
         response.setInternName(document.getIntern().getFirstName() + " " + document.getIntern().getLastName());
         return response;
     }
+
+    private static final class StoredFile {
+        private final String relativePath;
+        private final Path path;
+        private final String hash;
+        private final long size;
+
+        StoredFile(String relativePath, Path path, String hash, long size) {
+            this.relativePath = relativePath;
+            this.path = path;
+            this.hash = hash;
+            this.size = size;
+        }
+    }
 }
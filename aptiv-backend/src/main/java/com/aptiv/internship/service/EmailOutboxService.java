@@ -0,0 +1,245 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.entity.EmailOutbox;
+import com.aptiv.internship.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends emails through the {@code email_outbox} table. {@link #enqueue} only inserts a row in the
+ * caller's transaction; once it commits, a dispatcher claims due rows in batches and a bounded
+ * worker pool sends them in parallel. Failed sends are retried with exponential backoff.
+ */
+@Service
+@Slf4j
+public class EmailOutboxService {
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    // A row still SENDING after this long belongs to a worker that died mid-send
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(10);
+    // Kept in place of the body of abandoned emails
+    private static final String REDACTED_BODY = "[removed after delivery failed]";
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int workerCount;
+
+    private final ExecutorService dispatcher;
+    private final ExecutorService workers;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepository,
+                              EmailService emailService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${aptiv.internship.mail.outbox.workers:4}") int workerCount,
+                              @Value("${aptiv.internship.mail.outbox.batch-size:50}") int batchSize,
+                              @Value("${aptiv.internship.mail.outbox.max-attempts:5}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.workerCount = workerCount;
+        this.dispatcher = Executors.newSingleThreadExecutor(namedThreads("email-outbox-dispatcher"));
+        this.workers = Executors.newFixedThreadPool(workerCount, namedThreads("email-outbox-worker"));
+    }
+
+    /**
+     * Queue an email in the current transaction. It is sent after the transaction commits and
+     * discarded if it rolls back.
+     */
+    public void enqueue(String to, String subject, String body) {
+        outboxRepository.save(EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .build());
+        wakeUpAfterCommit();
+    }
+
+    /**
+     * Safety net for emails whose after-commit wake-up was lost (restart, other node, backoff)
+     */
+    @Scheduled(fixedDelayString = "${aptiv.internship.mail.outbox.poll-interval-ms:60000}")
+    public void poll() {
+        try {
+            releaseStaleClaims();
+            wakeUp();
+        } catch (Exception e) {
+            log.error("Failed to poll email outbox: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatcher.shutdown();
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void wakeUpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // One wake-up per transaction, however many emails it queues
+            if (TransactionSynchronizationManager.hasResource(this)) {
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EmailOutboxService.this);
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    private void wakeUp() {
+        drainRequested.set(true);
+        if (draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            do {
+                drainRequested.set(false);
+                List<EmailOutbox> batch;
+                while (!(batch = claimBatch()).isEmpty()) {
+                    // One slice per worker, each sent over a single pooled SMTP connection
+                    int sliceSize = (batch.size() + workerCount - 1) / workerCount;
+                    List<CompletableFuture<Void>> slices = new ArrayList<>();
+                    for (int from = 0; from < batch.size(); from += sliceSize) {
+                        List<EmailOutbox> slice = batch.subList(from, Math.min(from + sliceSize, batch.size()));
+                        slices.add(CompletableFuture.runAsync(() -> send(slice), workers));
+                    }
+                    CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new)).join();
+                }
+            } while (drainRequested.get());
+        } catch (Exception e) {
+            log.error("Failed to drain email outbox: {}", e.getMessage(), e);
+        } finally {
+            draining.set(false);
+        }
+        // A wake-up may have arrived between the last check and releasing the flag
+        if (drainRequested.get()) {
+            wakeUp();
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = outboxRepository.findDueForUpdate(now, batchSize);
+            due.forEach(email -> {
+                email.setStatus(EmailOutbox.Status.SENDING);
+                email.setClaimedAt(now);
+            });
+            return due;
+        });
+    }
+
+    private void send(List<EmailOutbox> emails) {
+        List<Exception> failures = emailService.sendEmails(emails.stream()
+                .map(email -> emailService.buildMessage(email.getRecipient(), email.getSubject(), email.getBody()))
+                .toList());
+        List<Long> sent = new ArrayList<>(emails.size());
+        for (int i = 0; i < emails.size(); i++) {
+            if (failures.get(i) == null) {
+                sent.add(emails.get(i).getId());
+            } else {
+                recordFailure(emails.get(i), failures.get(i));
+            }
+        }
+        try {
+            // Sent rows are removed: bodies may carry credentials (welcome emails)
+            outboxRepository.deleteAllByIdInBatch(sent);
+        } catch (Exception e) {
+            // Left SENDING, they would be re-sent after the stale-claim timeout
+            log.error("Failed to remove {} sent emails from the outbox: {}", sent.size(), e.getMessage(), e);
+        }
+    }
+
+    private void recordFailure(EmailOutbox email, Exception cause) {
+        try {
+            int attempts = email.getAttempts() + 1;
+            email.setAttempts(attempts);
+            email.setClaimedAt(null);
+            email.setLastError(cause.getMessage());
+            if (attempts >= maxAttempts) {
+                email.setStatus(EmailOutbox.Status.FAILED);
+                // Like sent rows, abandoned ones must not keep credentials (welcome emails) around
+                email.setBody(REDACTED_BODY);
+                log.error("Giving up on email {} to {} after {} attempts: {}",
+                        email.getId(), email.getRecipient(), attempts, cause.getMessage());
+            } else {
+                email.setStatus(EmailOutbox.Status.PENDING);
+                email.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+                log.warn("Failed to send email {} to {} (attempt {}), retrying at {}: {}",
+                        email.getId(), email.getRecipient(), attempts, email.getNextAttemptAt(), cause.getMessage());
+            }
+            outboxRepository.save(email);
+        } catch (Exception e) {
+            // The row stays SENDING and is released by the stale-claim sweep
+            log.error("Failed to record email failure for outbox row {}: {}", email.getId(), e.getMessage(), e);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = BASE_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private void releaseStaleClaims() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<EmailOutbox> stale = outboxRepository.findByStatusAndClaimedAtBefore(
+                    EmailOutbox.Status.SENDING, LocalDateTime.now().minus(CLAIM_TIMEOUT));
+            stale.forEach(email -> {
+                email.setStatus(EmailOutbox.Status.PENDING);
+                email.setClaimedAt(null);
+            });
+            if (!stale.isEmpty()) {
+                log.warn("Released {} stale email outbox claims", stale.size());
+            }
+        });
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
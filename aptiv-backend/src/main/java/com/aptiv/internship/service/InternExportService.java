@@ -0,0 +1,189 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.dto.request.InternSearchDTO;
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams intern search results straight to an output stream. Rows are read through a
+ * server-side cursor with a bounded fetch size and detached once written, so memory use
+ * does not grow with the number of exported interns.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InternExportService {
+
+    public enum ExportFormat {
+        CSV, XLSX
+    }
+
+    private static final int FETCH_SIZE = 500;
+    // Rows kept in memory by SXSSF before being flushed to its temp file
+    private static final int XLSX_ROW_WINDOW = 100;
+    private static final String[] COLUMNS = {
+            "ID", "First Name", "Last Name", "Email", "Phone", "University", "Major", "Department",
+            "Supervisor", "Status", "Start Date", "End Date", "HR Name", "HR Email", "Created At"
+    };
+
+    private final InternService internService;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportSearchResults(InternSearchDTO searchDTO, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Intern> interns = streamSearchResults(searchDTO)) {
+            if (format == ExportFormat.XLSX) {
+                writeXlsx(interns.iterator(), out);
+            } else {
+                writeCsv(interns.iterator(), out);
+            }
+        }
+    }
+
+    /**
+     * Stream the interns matching a search, ordered like the search itself. Must be consumed
+     * and closed inside the caller's transaction.
+     */
+    public Stream<Intern> streamSearchResults(InternSearchDTO searchDTO) {
+        String sortBy = searchDTO.getSortBy() != null ? searchDTO.getSortBy() : "createdAt";
+        Sort sort = Sort.by("asc".equalsIgnoreCase(searchDTO.getSortDirection())
+                ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
+        Specification<Intern> spec = internService.buildSearchSpecification(
+                searchDTO.getKeyword(),
+                searchDTO.getDepartment(),
+                searchDTO.getUniversity(),
+                searchDTO.getMajor(),
+                searchDTO.getSupervisor(),
+                searchDTO.getStatus(),
+                searchDTO.getStartDateFrom(),
+                searchDTO.getStartDateTo(),
+                searchDTO.getEndDateFrom(),
+                searchDTO.getEndDateTo(),
+                sort
+        );
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Intern> query = cb.createQuery(Intern.class);
+        Root<Intern> root = query.from(Intern.class);
+        root.fetch("user"); // HR columns come from the same row, no lazy load per intern
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Full-text searches already order by relevance
+        if (query.getOrderList().isEmpty()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        Stream<Intern> interns = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+        // Written rows must not pile up in the persistence context
+        return interns.peek(entityManager::detach);
+    }
+
+    private void writeCsv(Iterator<Intern> interns, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, COLUMNS);
+        long count = 0;
+        while (interns.hasNext()) {
+            writeCsvLine(writer, toRow(interns.next()));
+            if (++count % FETCH_SIZE == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        log.info("Exported {} interns as CSV", count);
+    }
+
+    private void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private void writeXlsx(Iterator<Intern> interns, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        try {
+            Sheet sheet = workbook.createSheet("Interns");
+            writeXlsxRow(sheet.createRow(0), COLUMNS);
+            int rowIndex = 1;
+            while (interns.hasNext()) {
+                writeXlsxRow(sheet.createRow(rowIndex++), toRow(interns.next()));
+            }
+            workbook.write(out);
+            out.flush();
+            log.info("Exported {} interns as XLSX", rowIndex - 1);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void writeXlsxRow(Row row, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i] != null ? values[i] : "");
+        }
+    }
+
+    private String[] toRow(Intern intern) {
+        User hrUser = intern.getUser();
+        return new String[]{
+                String.valueOf(intern.getId()),
+                intern.getFirstName(),
+                intern.getLastName(),
+                intern.getEmail(),
+                intern.getPhone(),
+                intern.getUniversity(),
+                intern.getMajor(),
+                intern.getDepartment(),
+                intern.getSupervisor(),
+                intern.getStatus() != null ? intern.getStatus().name() : null,
+                intern.getStartDate() != null ? intern.getStartDate().toString() : null,
+                intern.getEndDate() != null ? intern.getEndDate().toString() : null,
+                hrUser != null ? hrUser.getFirstName() + " " + hrUser.getLastName() : null,
+                hrUser != null ? hrUser.getEmail() : null,
+                intern.getCreatedAt() != null ? intern.getCreatedAt().toString() : null
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.repository.InternRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * In-memory dictionary of the distinct department, university, major and supervisor values.
+ * Built once at startup and kept current by {@link InternService} after each committed write,
+ * so filter options and typeahead suggestions never hit the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InternFacetIndex {
+
+    public enum Facet {
+        DEPARTMENT, UNIVERSITY, MAJOR, SUPERVISOR
+    }
+
+    private final InternRepository internRepository;
+    private final Map<Facet, FacetDictionary> dictionaries = createDictionaries();
+
+    private static Map<Facet, FacetDictionary> createDictionaries() {
+        Map<Facet, FacetDictionary> map = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            map.put(facet, new FacetDictionary());
+        }
+        return map;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            dictionaries.get(Facet.DEPARTMENT).load(internRepository.countGroupedByDepartment());
+            dictionaries.get(Facet.UNIVERSITY).load(internRepository.countGroupedByUniversity());
+            dictionaries.get(Facet.MAJOR).load(internRepository.countGroupedByMajor());
+            dictionaries.get(Facet.SUPERVISOR).load(internRepository.countGroupedBySupervisor());
+            log.info("Intern facet index built: {} departments, {} universities, {} majors, {} supervisors",
+                    values(Facet.DEPARTMENT).size(), values(Facet.UNIVERSITY).size(),
+                    values(Facet.MAJOR).size(), values(Facet.SUPERVISOR).size());
+        } catch (Exception e) {
+            log.error("Failed to build intern facet index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * All distinct values of a facet in ascending order
+     */
+    public List<String> values(Facet facet) {
+        return dictionaries.get(facet).snapshot.sorted;
+    }
+
+    /**
+     * Case-insensitive suggestions: values starting with the query come first, then values containing it
+     */
+    public List<String> suggest(Facet facet, String query, int limit) {
+        return dictionaries.get(facet).snapshot.suggest(query.toLowerCase(), limit);
+    }
+
+    /**
+     * Capture the facet values of an intern, e.g. before applying an update
+     */
+    public static Map<Facet, String> facetsOf(Intern intern) {
+        Map<Facet, String> facets = new EnumMap<>(Facet.class);
+        facets.put(Facet.DEPARTMENT, intern.getDepartment());
+        facets.put(Facet.UNIVERSITY, intern.getUniversity());
+        facets.put(Facet.MAJOR, intern.getMajor());
+        facets.put(Facet.SUPERVISOR, intern.getSupervisor());
+        return facets;
+    }
+
+    public void internsCreated(List<Intern> interns) {
+        List<Map<Facet, String>> added = interns.stream().map(InternFacetIndex::facetsOf).toList();
+        afterCommit(() -> added.forEach(facets -> apply(facets, 1)));
+    }
+
+    public void internUpdated(Map<Facet, String> before, Intern after) {
+        Map<Facet, String> current = facetsOf(after);
+        afterCommit(() -> {
+            apply(before, -1);
+            apply(current, 1);
+        });
+    }
+
+    public void internDeleted(Intern intern) {
+        Map<Facet, String> removed = facetsOf(intern);
+        afterCommit(() -> apply(removed, -1));
+    }
+
+    private void apply(Map<Facet, String> facets, int delta) {
+        facets.forEach((facet, value) -> {
+            if (value != null) {
+                dictionaries.get(facet).adjust(value, delta);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Reference-counted values of one facet. Writers rebuild an immutable snapshot under the lock;
+     * readers only dereference the volatile snapshot.
+     */
+    private static final class FacetDictionary {
+        private final Map<String, Long> counts = new HashMap<>();
+        private volatile Snapshot snapshot = Snapshot.of(Collections.emptySet());
+
+        synchronized void load(List<Object[]> rows) {
+            counts.clear();
+            for (Object[] row : rows) {
+                counts.put((String) row[0], (Long) row[1]);
+            }
+            snapshot = Snapshot.of(counts.keySet());
+        }
+
+        synchronized void adjust(String value, int delta) {
+            long count = counts.getOrDefault(value, 0L) + delta;
+            boolean changed;
+            if (count > 0) {
+                changed = counts.put(value, count) == null;
+            } else {
+                changed = counts.remove(value) != null;
+            }
+            if (changed) {
+                snapshot = Snapshot.of(counts.keySet());
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        private final List<String> sorted;
+        // Lowercased keys sorted for binary search, with the original value at the same index
+        private final String[] keys;
+        private final String[] values;
+
+        private Snapshot(List<String> sorted, String[] keys, String[] values) {
+            this.sorted = sorted;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        static Snapshot of(Collection<String> distinct) {
+            List<String> sorted = new ArrayList<>(distinct);
+            Collections.sort(sorted);
+
+            String[] values = sorted.toArray(new String[0]);
+            Arrays.sort(values, Comparator.comparing((String v) -> v.toLowerCase()).thenComparing(Comparator.naturalOrder()));
+            String[] keys = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                keys[i] = values[i].toLowerCase();
+            }
+            return new Snapshot(Collections.unmodifiableList(sorted), keys, values);
+        }
+
+        List<String> suggest(String query, int limit) {
+            List<String> result = new ArrayList<>(limit);
+            int start = Arrays.binarySearch(keys, query);
+            if (start < 0) {
+                start = -start - 1;
+            }
+            while (start > 0 && keys[start - 1].startsWith(query)) {
+                start--;
+            }
+            for (int i = start; i < keys.length && result.size() < limit && keys[i].startsWith(query); i++) {
+                result.add(values[i]);
+            }
+            for (int i = 0; i < keys.length && result.size() < limit; i++) {
+                if (!keys[i].startsWith(query) && keys[i].contains(query)) {
+                    result.add(values[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
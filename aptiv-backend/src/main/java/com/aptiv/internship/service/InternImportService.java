@@ -0,0 +1,138 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.dto.request.InternRequest;
+import com.aptiv.internship.dto.response.BatchErrorResponse;
+import com.aptiv.internship.dto.response.BatchImportResponse;
+import com.aptiv.internship.entity.User;
+import com.aptiv.internship.repository.InternRepository;
+import com.aptiv.internship.repository.UserRepository;
+import com.aptiv.internship.util.ExcelParser;
+import com.aptiv.internship.util.ExcelParser.InternRow;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Imports interns from an Excel upload. Rows are streamed from the sheet and inserted chunk by
+ * chunk, so neither the parsed rows nor the saved entities of the whole file are held in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InternImportService {
+    private static final int CHUNK_SIZE = 500;
+
+    private final ExcelParser excelParser;
+    private final InternService internService;
+    private final InternRepository internRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Import all rows of the file in one transaction: any invalid row rejects the whole upload.
+     *
+     * @return the number of interns created
+     */
+    @Transactional
+    public int importInterns(MultipartFile file, User hrUser) throws IOException {
+        Set<String> emailsInFile = new HashSet<>();
+        int count = excelParser.streamInterns(file, CHUNK_SIZE, chunk -> {
+            List<String> duplicateEmails = new ArrayList<>();
+            for (InternRequest request : chunk) {
+                if (request.getEmail() != null && !emailsInFile.add(request.getEmail())) {
+                    duplicateEmails.add(request.getEmail());
+                }
+            }
+            if (!duplicateEmails.isEmpty()) {
+                log.warn("Duplicate emails found in batch: {}", duplicateEmails);
+                throw new IllegalArgumentException("Duplicate emails in batch: " + String.join(", ", duplicateEmails));
+            }
+
+            internService.createInternsBatch(chunk, hrUser);
+            // Written rows are not needed anymore, keep the persistence context at one chunk
+            entityManager.flush();
+            entityManager.clear();
+        });
+        log.info("Imported {} interns from {}", count, file.getOriginalFilename());
+        return count;
+    }
+
+    /**
+     * Partial-commit import: all rows are validated in one pass, valid rows are committed chunk
+     * by chunk and each rejected row is reported with its sheet row number. Interns whose email
+     * already exists are skipped, so re-uploading a corrected file only inserts the missing rows.
+     */
+    public BatchImportResponse importInternsPartially(MultipartFile file, User hrUser) throws IOException {
+        BatchImportResponse response = new BatchImportResponse();
+        Map<String, Integer> firstRowByEmail = new HashMap<>();
+        excelParser.streamInternRows(file, CHUNK_SIZE,
+                rows -> importChunk(rows, hrUser, firstRowByEmail, response),
+                response.getErrors()::add);
+        response.getErrors().sort(Comparator.comparing(BatchErrorResponse::getRow));
+        response.setSuccess(response.getErrors().isEmpty());
+        log.info("Partially imported {}: {} created, {} skipped, {} rejected", file.getOriginalFilename(),
+                response.getCreated(), response.getSkipped(), response.getErrors().size());
+        return response;
+    }
+
+    private void importChunk(List<InternRow> rows, User hrUser, Map<String, Integer> firstRowByEmail,
+                             BatchImportResponse response) {
+        List<InternRow> candidates = new ArrayList<>(rows.size());
+        for (InternRow row : rows) {
+            String email = row.getRequest().getEmail();
+            Integer firstRow = firstRowByEmail.putIfAbsent(email, row.getRowNumber());
+            if (firstRow != null) {
+                response.getErrors().add(new BatchErrorResponse(row.getRowNumber(), "DUPLICATE_IN_FILE",
+                        "Email " + email + " already appears in row " + firstRow));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> emails = candidates.stream().map(row -> row.getRequest().getEmail()).toList();
+        Set<String> existingInterns = new HashSet<>(internRepository.findEmailsIn(emails));
+        Set<String> existingUsers = new HashSet<>(userRepository.findEmailsIn(emails));
+        List<InternRow> newRows = new ArrayList<>(candidates.size());
+        for (InternRow row : candidates) {
+            String email = row.getRequest().getEmail();
+            if (existingInterns.contains(email)) {
+                response.setSkipped(response.getSkipped() + 1); // Imported by an earlier upload
+            } else if (existingUsers.contains(email)) {
+                response.getErrors().add(new BatchErrorResponse(row.getRowNumber(), "EMAIL_IN_USE",
+                        "Email " + email + " already belongs to a user account"));
+            } else {
+                newRows.add(row);
+            }
+        }
+        if (newRows.isEmpty()) {
+            return;
+        }
+
+        try {
+            internService.saveInternsBatch(newRows.stream().map(InternRow::getRequest).toList(), hrUser);
+            response.setCreated(response.getCreated() + newRows.size());
+        } catch (RuntimeException e) {
+            // The chunk was rolled back: retry its rows one by one to isolate the failing ones
+            log.warn("Chunk of {} interns failed, retrying row by row: {}", newRows.size(), e.getMessage());
+            for (InternRow row : newRows) {
+                try {
+                    internService.saveInternsBatch(List.of(row.getRequest()), hrUser);
+                    response.setCreated(response.getCreated() + 1);
+                } catch (RuntimeException rowFailure) {
+                    response.getErrors().add(new BatchErrorResponse(row.getRowNumber(), "INSERT_FAILED",
+                            NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage()));
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +25,10 @@ public class InternSearchService {
 
     private final InternRepository internRepository;
     private final InternService internService;
+    private final InternFacetIndex internFacetIndex;
+    private final InternExportService internExportService;
+
+    private static final int SUGGESTION_LIMIT = 5;
 
     /**
      * Search interns using search DTO
@@ -50,16 +55,15 @@ public class InternSearchService {
     }
 
     /**
-     * Get search filter options
+     * Get search filter options (served from the in-memory facet index)
      */
-    @Transactional(readOnly = true)
     public Map<String, Object> getSearchFilterOptions() {
         Map<String, Object> options = new HashMap<>();
 
-        options.put("departments", internRepository.findDistinctDepartments());
-        options.put("universities", internRepository.findDistinctUniversities());
-        options.put("majors", internRepository.findDistinctMajors());
-        options.put("supervisors", internRepository.findDistinctSupervisors());
+        options.put("departments", internFacetIndex.values(InternFacetIndex.Facet.DEPARTMENT));
+        options.put("universities", internFacetIndex.values(InternFacetIndex.Facet.UNIVERSITY));
+        options.put("majors", internFacetIndex.values(InternFacetIndex.Facet.MAJOR));
+        options.put("supervisors", internFacetIndex.values(InternFacetIndex.Facet.SUPERVISOR));
         options.put("statuses", Intern.InternshipStatus.values());
 
         return options;
@@ -72,42 +76,37 @@ public class InternSearchService {
     public Map<String, Object> getSearchStatistics() {
         Map<String, Object> stats = new HashMap<>();
 
-        // Count by status
+        // Count by status (one GROUP BY, statuses without interns reported as 0)
         Map<String, Long> statusCounts = new HashMap<>();
         for (Intern.InternshipStatus status : Intern.InternshipStatus.values()) {
-            statusCounts.put(status.name(), internRepository.countByStatus(status));
+            statusCounts.put(status.name(), 0L);
+        }
+        long totalInterns = 0;
+        for (Object[] row : internRepository.countGroupedByStatus()) {
+            long count = (Long) row[1];
+            statusCounts.put(((Intern.InternshipStatus) row[0]).name(), count);
+            totalInterns += count;
         }
         stats.put("statusCounts", statusCounts);
 
-        // Total count
-        stats.put("totalInterns", internRepository.count());
+        // Total count (status is NOT NULL, so the histogram covers every intern)
+        stats.put("totalInterns", totalInterns);
 
         // Active interns by date range
         stats.put("activeInternsByDateRange", internRepository.countActiveInternsByDateRange());
 
         // Top departments
-        List<String> departments = internRepository.findDistinctDepartments();
-        Map<String, Long> departmentCounts = new HashMap<>();
-        for (String department : departments) {
-            departmentCounts.put(department, internRepository.countByDepartment(department));
-        }
-        stats.put("departmentCounts", departmentCounts);
+        stats.put("departmentCounts", toCountMap(internRepository.countGroupedByDepartment()));
 
         // Top universities
-        List<String> universities = internRepository.findDistinctUniversities();
-        Map<String, Long> universityCounts = new HashMap<>();
-        for (String university : universities) {
-            universityCounts.put(university, internRepository.countByUniversity(university));
-        }
-        stats.put("universityCounts", universityCounts);
+        stats.put("universityCounts", toCountMap(internRepository.countGroupedByUniversity()));
 
         return stats;
     }
 
     /**
-     * Quick search suggestions
+     * Quick search suggestions (served from the in-memory facet index)
      */
-    @Transactional(readOnly = true)
     public Map<String, List<String>> getSearchSuggestions(String query) {
         Map<String, List<String>> suggestions = new HashMap<>();
 
@@ -117,52 +116,34 @@ public class InternSearchService {
 
         String searchTerm = query.toLowerCase();
 
-        // Department suggestions
-        List<String> departments = internRepository.findDistinctDepartments()
-                .stream()
-                .filter(dept -> dept.toLowerCase().contains(searchTerm))
-                .limit(5)
-                .toList();
-        suggestions.put("departments", departments);
-
-        // University suggestions
-        List<String> universities = internRepository.findDistinctUniversities()
-                .stream()
-                .filter(uni -> uni.toLowerCase().contains(searchTerm))
-                .limit(5)
-                .toList();
-        suggestions.put("universities", universities);
-
-        // Major suggestions
-        List<String> majors = internRepository.findDistinctMajors()
-                .stream()
-                .filter(major -> major.toLowerCase().contains(searchTerm))
-                .limit(5)
-                .toList();
-        suggestions.put("majors", majors);
-
-        // Supervisor suggestions
-        List<String> supervisors = internRepository.findDistinctSupervisors()
-                .stream()
-                .filter(supervisor -> supervisor.toLowerCase().contains(searchTerm))
-                .limit(5)
-                .toList();
-        suggestions.put("supervisors", supervisors);
+        suggestions.put("departments", internFacetIndex.suggest(InternFacetIndex.Facet.DEPARTMENT, searchTerm, SUGGESTION_LIMIT));
+        suggestions.put("universities", internFacetIndex.suggest(InternFacetIndex.Facet.UNIVERSITY, searchTerm, SUGGESTION_LIMIT));
+        suggestions.put("majors", internFacetIndex.suggest(InternFacetIndex.Facet.MAJOR, searchTerm, SUGGESTION_LIMIT));
+        suggestions.put("supervisors", internFacetIndex.suggest(InternFacetIndex.Facet.SUPERVISOR, searchTerm, SUGGESTION_LIMIT));
 
         return suggestions;
     }
 
     /**
-     * Export search results
+     * Export search results as JSON. Prefer {@link InternExportService} for large exports,
+     * this still builds the whole list in memory.
      */
     @Transactional(readOnly = true)
     public List<InternResponse> exportSearchResults(InternSearchDTO searchDTO) {
-        // Remove pagination for export
-        searchDTO.setPage(0);
-        searchDTO.setSize(Integer.MAX_VALUE);
+        try (Stream<Intern> interns = internExportService.streamSearchResults(searchDTO)) {
+            return interns.map(this::convertToResponse).toList();
+        }
+    }
 
-        Page<InternResponse> results = searchInterns(searchDTO);
-        return results.getContent();
+    /**
+     * Convert [value, count] rows of a GROUP BY query to a map
+     */
+    private Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        return counts;
     }
 
     /**
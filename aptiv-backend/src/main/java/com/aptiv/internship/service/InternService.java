@@ -6,11 +6,15 @@ import com.aptiv.internship.entity.Message;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import com.aptiv.internship.dto.request.InternRequest;
 import com.aptiv.internship.dto.request.MessageRequest;
+import com.aptiv.internship.dto.response.CursorPage;
 import com.aptiv.internship.dto.response.InternResponse;
 import com.aptiv.internship.dto.response.MessageResponse;
+import com.aptiv.internship.dto.response.UnreadDelta;
 import com.aptiv.internship.entity.Intern;
 import com.aptiv.internship.entity.Notification;
 import com.aptiv.internship.entity.User;
@@ -18,12 +22,16 @@ import com.aptiv.internship.exception.DuplicateInternException;
 import com.aptiv.internship.exception.ResourceNotFoundException;
 import com.aptiv.internship.repository.InternRepository;
 import com.aptiv.internship.repository.UserRepository;
+import com.aptiv.internship.util.KeysetCursor;
 import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -44,9 +52,12 @@ public class InternService {
     private final InternRepository internRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     private final NotificationService notificationService;
     private final PasswordEncoder passwordEncoder;
     private final MessageRepository messageRepository;
+    private final InternFacetIndex internFacetIndex;
+    private final RealtimePublisher realtimePublisher;
 
     @Transactional
     public InternResponse createIntern(InternRequest request) {
@@ -79,11 +90,12 @@ public class InternService {
             // Save the user entity
             userRepository.save(internUser);
             Intern savedIntern = internRepository.save(intern);
+            internFacetIndex.internsCreated(List.of(savedIntern));
 
-            // Send welcome email with the random password
+            // Queue the welcome email with the random password, sent once this transaction commits
             String subject = "Welcome to Your Internship at Aptiv!";
             String body = buildWelcomeEmailBody(request, hrUser, randomPassword);
-            emailService.sendEmail(intern.getEmail(), subject, body);
+            emailOutboxService.enqueue(intern.getEmail(), subject, body);
 
             // Create a notification
             Notification notification = notificationService.createNotification(
@@ -137,6 +149,15 @@ public class InternService {
             throw new IllegalArgumentException("Interns with these emails already exist (Delete them and upload the file again): " + String.join(", ", existingEmails));
         }
 
+        saveInternsBatch(requests, hrUser);
+    }
+
+    /**
+     * Insert already validated, new interns with their user accounts, welcome emails and
+     * notifications. Joins the caller's transaction, or commits on its own when there is none.
+     */
+    @Transactional
+    public void saveInternsBatch(List<InternRequest> requests, User hrUser) {
         // Prepare lists
         List<Intern> interns = new ArrayList<>();
         List<User> users = new ArrayList<>();
@@ -164,26 +185,29 @@ public class InternService {
         try {
             userRepository.saveAll(users);
             internRepository.saveAll(interns);
+            internFacetIndex.internsCreated(interns);
 
-            // Send welcome emails to all interns
+            // Queue welcome emails: they are sent by the outbox workers after commit, so SMTP
+            // latency or failures neither hold this transaction open nor fail the batch
+            String subject = "Welcome to Your Internship at Aptiv!";
+            List<Notification> notifications = new ArrayList<>(interns.size());
             for (int i = 0; i < interns.size(); i++) {
                 Intern intern = interns.get(i);
                 InternRequest request = requests.get(i);
-                String subject = "Welcome to Your Internship at Aptiv!";
                 String body = buildWelcomeEmailBody(request, hrUser, passwords.get(i));
-                emailService.sendEmail(intern.getEmail(), subject, body);
-
-                // Create notification
-                notificationService.createNotification(
-                        subject,
-                        "Welcome to your internship! Please review your details and contact HR if needed.",
-                        Notification.NotificationType.WELCOME_MESSAGE,
-                        users.get(i),
-                        intern
-                );
+                emailOutboxService.enqueue(intern.getEmail(), subject, body);
+
+                Notification notification = new Notification();
+                notification.setTitle(subject);
+                notification.setMessage("Welcome to your internship! Please review your details and contact HR if needed.");
+                notification.setType(Notification.NotificationType.WELCOME_MESSAGE);
+                notification.setUser(users.get(i));
+                notification.setIntern(intern);
+                notifications.add(notification);
             }
+            notificationService.createNotificationsForNewInterns(notifications);
         } catch (Exception e) {
-            log.error("Failed to save batch of interns or send welcome emails: {}", e.getMessage(), e);
+            log.error("Failed to save batch of interns or queue welcome emails: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to create intern batch: " + e.getMessage(), e);
         }
     }
@@ -205,6 +229,57 @@ public class InternService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<InternResponse> getAllInterns(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        try {
+            List<Intern> rows = internRepository.findKeysetPage(after.getTimestamp(), after.getId(), PageRequest.of(0, pageSize + 1));
+            return CursorPage.of(rows, pageSize, this::convertToResponse, this::cursorOf);
+        } catch (Exception e) {
+            log.error("Failed to retrieve interns after cursor '{}': {}", cursor, e.getMessage(), e);
+            throw new RuntimeException("Failed to retrieve interns: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cursor mode of {@link #searchInterns}: newest first, no relevance ranking and no total count
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<InternResponse> searchInterns(
+            String keyword, String department, String university, String major, String supervisor,
+            Intern.InternshipStatus status, LocalDate startDateFrom, LocalDate startDateTo,
+            LocalDate endDateFrom, LocalDate endDateTo, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        try {
+            Specification<Intern> spec = buildSearchSpecification(keyword, department, university, major, supervisor,
+                    status, startDateFrom, startDateTo, endDateFrom, endDateTo, Sort.unsorted())
+                    .and(createdBefore(after));
+            List<Intern> rows = internRepository.findBy(spec, query -> query
+                    .project("user") // applied as a fetch graph, avoids one HR lookup per row
+                    .sortBy(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                    .limit(pageSize + 1)
+                    .all());
+            return CursorPage.of(rows, pageSize, this::convertToResponse, this::cursorOf);
+        } catch (Exception e) {
+            log.error("Failed to search interns after cursor '{}': {}", cursor, e.getMessage(), e);
+            throw new RuntimeException("Failed to search interns: " + e.getMessage(), e);
+        }
+    }
+
+    private Specification<Intern> createdBefore(KeysetCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<LocalDateTime>get("createdAt"), cursor.getTimestamp()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.getTimestamp()),
+                        cb.lessThan(root.<Long>get("id"), cursor.getId())));
+    }
+
+    private KeysetCursor cursorOf(Intern intern) {
+        return new KeysetCursor(intern.getCreatedAt(), intern.getId());
+    }
+
     @Transactional(readOnly = true)
     public Page<InternResponse> searchInterns(
             String keyword, String department, String university, String major, String supervisor,
@@ -212,8 +287,8 @@ public class InternService {
             LocalDate endDateFrom, LocalDate endDateTo, Pageable pageable) {
         try {
             Specification<Intern> spec = buildSearchSpecification(keyword, department, university, major, supervisor,
-                    status, startDateFrom, startDateTo, endDateFrom, endDateTo);
-            return internRepository.findAll(spec, pageable).map(this::convertToResponse);
+                    status, startDateFrom, startDateTo, endDateFrom, endDateTo, pageable.getSort());
+            return internRepository.findAll(spec, rankedPageable(keyword, pageable)).map(this::convertToResponse);
         } catch (Exception e) {
             log.error("Failed to search interns: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to search interns: " + e.getMessage(), e);
@@ -222,7 +297,9 @@ public class InternService {
 
     public Page<Intern> searchByKeyword(String keyword, Pageable pageable) {
         try {
-            return internRepository.findByKeyword(keyword, pageable);
+            Specification<Intern> spec = buildSearchSpecification(keyword, null, null, null, null,
+                    null, null, null, null, null, pageable.getSort());
+            return internRepository.findAll(spec, rankedPageable(keyword, pageable));
         } catch (Exception e) {
             log.error("Failed to search interns by keyword '{}': {}", keyword, e.getMessage(), e);
             throw new RuntimeException("Failed to search interns by keyword: " + e.getMessage(), e);
@@ -235,19 +312,9 @@ public class InternService {
             if (!StringUtils.hasText(keyword)) {
                 return getAllInterns(pageable);
             }
-            Specification<Intern> spec = (root, query, cb) -> {
-                String searchTerm = "%" + keyword.toLowerCase() + "%";
-                return cb.or(
-                        cb.like(cb.lower(root.get("firstName")), searchTerm),
-                        cb.like(cb.lower(root.get("lastName")), searchTerm),
-                        cb.like(cb.lower(root.get("email")), searchTerm),
-                        cb.like(cb.lower(root.get("university")), searchTerm),
-                        cb.like(cb.lower(root.get("major")), searchTerm),
-                        cb.like(cb.lower(root.get("department")), searchTerm),
-                        cb.like(cb.lower(root.get("supervisor")), searchTerm)
-                );
-            };
-            return internRepository.findAll(spec, pageable).map(this::convertToResponse);
+            Specification<Intern> spec = buildSearchSpecification(keyword, null, null, null, null,
+                    null, null, null, null, null, pageable.getSort());
+            return internRepository.findAll(spec, rankedPageable(keyword, pageable)).map(this::convertToResponse);
         } catch (Exception e) {
             log.error("Failed to search interns by keyword '{}': {}", keyword, e.getMessage(), e);
             throw new RuntimeException("Failed to search interns by keyword: " + e.getMessage(), e);
@@ -324,6 +391,7 @@ public class InternService {
                     log.warn("Intern with id {} not found for update", id);
                     return new ResourceNotFoundException("Intern", "id", id);
                 });
+        Map<InternFacetIndex.Facet, String> facetsBefore = InternFacetIndex.facetsOf(intern);
 
         // Only update non-null fields
         if (request.getFirstName() != null) {
@@ -362,6 +430,7 @@ public class InternService {
 
         try {
             Intern updatedIntern = internRepository.save(intern);
+            internFacetIndex.internUpdated(facetsBefore, updatedIntern);
             return convertToResponse(updatedIntern);
         } catch (Exception e) {
             log.error("Failed to update intern with id {}: {}", id, e.getMessage(), e);
@@ -378,6 +447,7 @@ public class InternService {
                 });
         try {
             internRepository.delete(intern);
+            internFacetIndex.internDeleted(intern);
         } catch (Exception e) {
             log.error("Failed to delete intern with id {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Failed to delete intern: " + e.getMessage(), e);
@@ -432,6 +502,8 @@ public class InternService {
             resp.setInternName(intern.getFirstName() + " " + intern.getLastName());
             resp.setSenderId(hrUser.getId());
             resp.setSenderName(hrUser.getFirstName() + " " + hrUser.getLastName());
+            realtimePublisher.sendToUser(intern.getEmail(), RealtimePublisher.MESSAGES, resp);
+            realtimePublisher.unreadChanged(intern.getEmail(), UnreadDelta.Counter.MESSAGES, 1);
 
             log.info("Message sent successfully to intern {} by user {}", intern.getId(), hrUser.getId());
             return resp;
@@ -442,41 +514,6 @@ public class InternService {
         }
     }
 
-    @Transactional
-    public List<MessageResponse> sendMessageToMultipleInterns(List<Long> internIds, String subject, String content) {
-        List<MessageResponse> responses = new ArrayList<>();
-        for (Long id : internIds) {
-            try {
-                MessageRequest req = new MessageRequest();
-                req.setInternId(id);
-                req.setSubject(subject);
-                req.setContent(content);
-                responses.add(sendMessageToIntern(req));
-            } catch (Exception e) {
-                log.error("Failed to send message to intern {}: {}", id, e.getMessage(), e);
-                MessageResponse err = new MessageResponse();
-                err.setInternId(id);
-                err.setSubject(subject);
-                err.setContent("ERROR: " + e.getMessage());
-                err.setSentAt(LocalDateTime.now());
-                responses.add(err);
-            }
-        }
-        return responses;
-    }
-
-    public List<Long> getAllActiveInternIds() {
-        try {
-            return internRepository.findByStatus(Intern.InternshipStatus.ACTIVE)
-                    .stream()
-                    .map(Intern::getId)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Failed to retrieve active intern IDs: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to retrieve active intern IDs: " + e.getMessage(), e);
-        }
-    }
-
     @Transactional(readOnly = true)
     public long getInternCount() {
         try {
@@ -634,7 +671,7 @@ public class InternService {
         }
     }
 
-    private String buildEmailBody(String content, User hrUser, Intern intern) {
+    static String buildEmailBody(String content, User hrUser, Intern intern) {
         return String.format("""
             Dear %s %s,
             
@@ -659,13 +696,80 @@ public class InternService {
         );
     }
 
-    private Specification<Intern> buildSearchSpecification(
+    /**
+     * Full-text queries are ordered by relevance inside the specification, so the pageable
+     * handed to the repository must not carry its own sort.
+     */
+    private Pageable rankedPageable(String keyword, Pageable pageable) {
+        if (toPrefixTsQuery(keyword) == null || pageable.isUnpaged()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    /**
+     * Turns free text into a prefix tsquery ("jo smi" -> "jo:* & smi:*") matching the
+     * tokenization of intern_search_document. Returns null when nothing searchable remains.
+     */
+    static String toPrefixTsQuery(String keyword) {
+        if (!StringUtils.hasText(keyword)) {
+            return null;
+        }
+        String tsQuery = Arrays.stream(keyword.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(StringUtils::hasText)
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        return tsQuery.isEmpty() ? null : tsQuery;
+    }
+
+    /**
+     * LIKE pattern matching the keyword anywhere in the search text, with wildcards escaped
+     */
+    static String toInfixPattern(String keyword) {
+        String escaped = keyword.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private Expression<String> searchText(Root<Intern> root, CriteriaBuilder cb) {
+        return cb.function("intern_search_text", String.class,
+                root.get("firstName"), root.get("lastName"), root.get("email"),
+                root.get("department"), root.get("supervisor"), root.get("university"), root.get("major"));
+    }
+
+    private Expression<String> searchDocument(Root<Intern> root, CriteriaBuilder cb) {
+        return cb.function("intern_search_document", String.class,
+                root.get("firstName"), root.get("lastName"), root.get("email"),
+                root.get("department"), root.get("supervisor"), root.get("university"), root.get("major"));
+    }
+
+    Specification<Intern> buildSearchSpecification(
             String keyword, String department, String university, String major, String supervisor,
             Intern.InternshipStatus status, LocalDate startDateFrom, LocalDate startDateTo,
-            LocalDate endDateFrom, LocalDate endDateTo) {
+            LocalDate endDateFrom, LocalDate endDateTo, Sort sort) {
+        String tsQuery = toPrefixTsQuery(keyword);
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
-            if (StringUtils.hasText(keyword)) {
+            if (tsQuery != null) {
+                // Served by the idx_interns_search_document GIN index (see V9 migration)
+                Expression<String> document = searchDocument(root, cb);
+                Expression<String> searchQuery = cb.literal(tsQuery);
+                // Infix matches, as the former LIKE search had ("son" in "Johnson"), through the
+                // idx_interns_search_text trigram index; they rank 0, after the token matches
+                predicates.add(cb.or(
+                        cb.isTrue(cb.function("intern_search_matches", Boolean.class, document, searchQuery)),
+                        cb.like(searchText(root, cb), toInfixPattern(keyword), '\\')));
+
+                // Count queries share this specification and must stay unordered
+                if (!Long.class.equals(query.getResultType()) && !long.class.equals(query.getResultType())) {
+                    List<Order> orders = new ArrayList<>();
+                    orders.add(cb.desc(cb.function("intern_search_rank", Double.class, document, searchQuery)));
+                    orders.addAll(QueryUtils.toOrders(sort, root, cb));
+                    query.orderBy(orders);
+                }
+            } else if (StringUtils.hasText(keyword)) {
                 String term = "%" + keyword.toLowerCase() + "%";
                 predicates.add((Predicate) cb.or(
                         cb.like(cb.lower(root.get("firstName")), term),
@@ -0,0 +1,172 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SMTP transport that keeps a small pool of connected, authenticated connections and sends many
+ * messages over each, instead of paying TCP, STARTTLS and AUTH for every email. Sends are rate
+ * limited with a token bucket to stay under the provider's limits.
+ */
+@Component
+@Slf4j
+public class MailTransport {
+    // Providers throttle or drop long-lived sessions: reconnect after this many messages or idle time
+    private static final int MAX_MESSAGES_PER_CONNECTION = 100;
+    private static final long MAX_IDLE_NANOS = 30_000_000_000L;
+
+    private final JavaMailSenderImpl mailSender;
+    private final TokenBucket rateLimiter;
+    private final BlockingQueue<PooledConnection> pool;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public MailTransport(JavaMailSenderImpl mailSender,
+                         MeterRegistry meterRegistry,
+                         @Value("${aptiv.internship.mail.pool-size:4}") int poolSize,
+                         @Value("${aptiv.internship.mail.rate-per-second:5}") double ratePerSecond,
+                         @Value("${aptiv.internship.mail.burst:10}") int burst) {
+        this.mailSender = mailSender;
+        this.rateLimiter = new TokenBucket(ratePerSecond, burst);
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            pool.add(new PooledConnection());
+        }
+        this.sendTimer = Timer.builder("mail.send.latency")
+                .description("Time to hand one email to the SMTP server")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("mail.sent");
+        this.failedCounter = meterRegistry.counter("mail.failed");
+        Gauge.builder("mail.transport.waiting", waiting, AtomicInteger::get)
+                .description("Emails waiting for a pooled connection or a rate-limit token")
+                .register(meterRegistry);
+    }
+
+    public void send(SimpleMailMessage message) {
+        Exception failure = sendAll(List.of(message)).get(0);
+        if (failure != null) {
+            throw failure instanceof MailSendException mailSendException
+                    ? mailSendException
+                    : new MailSendException("Failed to send email: " + failure.getMessage(), failure);
+        }
+    }
+
+    /**
+     * Send the messages over one pooled connection
+     *
+     * @return the failure of each message, at the same index, or null when it was sent
+     */
+    public List<Exception> sendAll(List<SimpleMailMessage> messages) {
+        List<Exception> failures = new ArrayList<>(Arrays.asList(new Exception[messages.size()]));
+        waiting.addAndGet(messages.size());
+        PooledConnection connection;
+        try {
+            connection = pool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            waiting.addAndGet(-messages.size());
+            failures.replaceAll(ignored -> e);
+            return failures;
+        }
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                try {
+                    rateLimiter.acquire();
+                    waiting.decrementAndGet();
+                    long start = System.nanoTime();
+                    connection.send(messages.get(i));
+                    sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    sentCounter.increment();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    waiting.addAndGet(-(messages.size() - i));
+                    for (int j = i; j < messages.size(); j++) {
+                        failures.set(j, e);
+                    }
+                    break;
+                } catch (Exception e) {
+                    failedCounter.increment();
+                    failures.set(i, e);
+                    // The connection may be broken: reconnect before the next message
+                    connection.close();
+                }
+            }
+        } finally {
+            pool.add(connection);
+        }
+        return failures;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.forEach(PooledConnection::close);
+    }
+
+    /**
+     * One SMTP connection, used by a single thread at a time while borrowed from the pool
+     */
+    private final class PooledConnection {
+        private Transport transport;
+        private int messagesSent;
+        private long lastUsed;
+
+        void send(SimpleMailMessage message) throws MessagingException {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            message.copyTo(new MimeMailMessage(mimeMessage));
+            mimeMessage.saveChanges();
+            ensureConnected().sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+            messagesSent++;
+            lastUsed = System.nanoTime();
+        }
+
+        private Transport ensureConnected() throws MessagingException {
+            if (transport != null && (messagesSent >= MAX_MESSAGES_PER_CONNECTION
+                    || System.nanoTime() - lastUsed > MAX_IDLE_NANOS)) {
+                close();
+            }
+            if (transport == null) {
+                Transport connected = mailSender.getSession().getTransport(mailSender.getProtocol());
+                connected.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+                transport = connected;
+                messagesSent = 0;
+                lastUsed = System.nanoTime();
+            }
+            return transport;
+        }
+
+        void close() {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    log.debug("Failed to close SMTP connection: {}", e.getMessage());
+                }
+                transport = null;
+            }
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.aptiv.internship.service;
 
 import com.aptiv.internship.dto.request.InternMessageRequest;
 import com.aptiv.internship.dto.request.MessageRequest;
+import com.aptiv.internship.dto.response.CursorPage;
 import com.aptiv.internship.dto.response.MessageResponse;
+import com.aptiv.internship.dto.response.UnreadDelta;
 import com.aptiv.internship.entity.Intern;
 import com.aptiv.internship.entity.Message;
 import com.aptiv.internship.entity.Notification;
@@ -11,9 +13,11 @@ import com.aptiv.internship.exception.ResourceNotFoundException;
 import com.aptiv.internship.repository.InternRepository;
 import com.aptiv.internship.repository.MessageRepository;
 import com.aptiv.internship.repository.UserRepository;
+import com.aptiv.internship.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,6 +25,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +37,7 @@ public class MessageService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final NotificationService notificationService;
+    private final RealtimePublisher realtimePublisher;
 
     /**
      * HR sends message to intern
@@ -72,7 +79,11 @@ public class MessageService {
             Message savedMessage = messageRepository.save(message);
             log.info("Message sent from HR {} to intern {}", hrUser.getId(), intern.getId());
 
-            return convertToResponse(savedMessage);
+            MessageResponse response = convertToResponse(savedMessage);
+            // The intern's account shares the intern's email
+            realtimePublisher.sendToUser(intern.getEmail(), RealtimePublisher.MESSAGES, response);
+            realtimePublisher.unreadChanged(intern.getEmail(), UnreadDelta.Counter.MESSAGES, 1);
+            return response;
 
         } catch (Exception e) {
             log.error("Failed to send message from HR {} to intern {}: {}",
@@ -133,7 +144,10 @@ public class MessageService {
             Message savedMessage = messageRepository.save(message);
             log.info("Message sent from intern {} to HR {}", intern.getId(), hrUser.getId());
 
-            return convertToResponse(savedMessage);
+            MessageResponse response = convertToResponse(savedMessage);
+            realtimePublisher.sendToUser(hrUser, RealtimePublisher.MESSAGES, response);
+            realtimePublisher.unreadChanged(hrUser, UnreadDelta.Counter.MESSAGES, 1);
+            return response;
 
         } catch (Exception e) {
             log.error("Failed to send message from intern {} to HR {}: {}",
@@ -163,6 +177,28 @@ public class MessageService {
         }
     }
 
+    /**
+     * Cursor mode of {@link #getMyMessages(Pageable)}: newest first, no total count
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MessageResponse> getMyMessages(String cursor, int size) {
+        User currentUser = getCurrentUser();
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Message> messages;
+        if (currentUser.getRole().equals(User.Role.HR)) {
+            messages = messageRepository.findKeysetPageForHR(currentUser.getId(), after.getTimestamp(), after.getId(), limit);
+        } else {
+            Intern intern = internRepository.findByEmail(currentUser.getEmail())
+                    .orElseThrow(() -> new ResourceNotFoundException("Intern", "email", currentUser.getEmail()));
+            messages = messageRepository.findKeysetPageForIntern(intern.getId(), after.getTimestamp(), after.getId(), limit);
+        }
+        return CursorPage.of(messages, pageSize, this::convertToResponse,
+                message -> new KeysetCursor(message.getSentAt(), message.getId()));
+    }
+
     /**
      * Get a single message by ID (works for both HR and INTERN)
      */
@@ -221,6 +257,9 @@ public class MessageService {
             throw new IllegalArgumentException("You don't have permission to delete this message");
         }
 
+        if (!Boolean.TRUE.equals(message.getIsRead())) {
+            realtimePublisher.unreadChanged(recipientEmail(message), UnreadDelta.Counter.MESSAGES, -1);
+        }
         messageRepository.delete(message);
         log.info("Message {} deleted by user {}", messageId, currentUser.getId());
     }
@@ -260,25 +299,61 @@ public class MessageService {
             throw new IllegalArgumentException("You don't have permission to mark this message as read");
         }
 
+        if (!Boolean.TRUE.equals(message.getIsRead())) {
+            realtimePublisher.unreadChanged(currentUser.getEmail(), UnreadDelta.Counter.MESSAGES, -1);
+        }
         message.setIsRead(true);
         messageRepository.save(message);
     }
 
     /**
-     * Get unread message count for current user
+     * Mark the given messages received by the current user as read, in one UPDATE. Ids of
+     * messages the user did not receive, or already read, are ignored.
+     *
+     * @return the number of messages marked as read
+     */
+    @Transactional
+    public int markAsRead(Collection<Long> messageIds) {
+        User currentUser = getCurrentUser();
+        int updated;
+        if (currentUser.getRole().equals(User.Role.HR)) {
+            updated = messageRepository.markReadForUser(currentUser.getId(), messageIds);
+        } else {
+            updated = messageRepository.markReadForIntern(getCurrentIntern(currentUser).getId(), messageIds);
+        }
+        publishRead(currentUser, updated);
+        return updated;
+    }
+
+    /**
+     * Mark every message received by the current user as read, in one UPDATE
+     *
+     * @return the number of messages marked as read
+     */
+    @Transactional
+    public int markAllAsRead() {
+        User currentUser = getCurrentUser();
+        int updated;
+        if (currentUser.getRole().equals(User.Role.HR)) {
+            updated = messageRepository.markAllReadForUser(currentUser.getId());
+        } else {
+            updated = messageRepository.markAllReadForIntern(getCurrentIntern(currentUser).getId());
+        }
+        publishRead(currentUser, updated);
+        return updated;
+    }
+
+    /**
+     * Get unread message count for current user, from the counters maintained by the database
      */
     @Transactional(readOnly = true)
     public long getUnreadMessageCount() {
         User currentUser = getCurrentUser();
 
         if (currentUser.getRole().equals(User.Role.HR)) {
-            return messageRepository.countByRecipientIdAndIsReadFalseAndMessageType(
-                    currentUser.getId(), Message.MessageType.INTERN_TO_HR);
+            return messageRepository.findUnreadCountForUser(currentUser.getId());
         } else {
-            Intern intern = internRepository.findByEmail(currentUser.getEmail())
-                    .orElseThrow(() -> new ResourceNotFoundException("Intern", "email", currentUser.getEmail()));
-            return messageRepository.countByInternIdAndIsReadFalseAndMessageType(
-                    intern.getId(), Message.MessageType.HR_TO_INTERN);
+            return messageRepository.findUnreadCountForIntern(getCurrentIntern(currentUser).getId());
         }
     }
 
@@ -294,6 +369,26 @@ public class MessageService {
         return userDetails.getUsername();
     }
 
+    private Intern getCurrentIntern(User currentUser) {
+        return internRepository.findByEmail(currentUser.getEmail())
+                .orElseThrow(() -> new ResourceNotFoundException("Intern", "email", currentUser.getEmail()));
+    }
+
+    private void publishRead(User currentUser, int count) {
+        if (count > 0) {
+            realtimePublisher.unreadChanged(currentUser.getEmail(), UnreadDelta.Counter.MESSAGES, -count);
+        }
+    }
+
+    /**
+     * Email of the account whose unread count includes this message
+     */
+    private String recipientEmail(Message message) {
+        return message.getMessageType() == Message.MessageType.INTERN_TO_HR
+                ? message.getRecipient().getEmail()
+                : message.getIntern().getEmail();
+    }
+
     private String buildEmailBodyHRToIntern(String content, User hrUser, Intern intern) {
         return String.format("""
             Dear %s,
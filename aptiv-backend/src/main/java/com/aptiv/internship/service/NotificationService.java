@@ -1,25 +1,41 @@
 package com.aptiv.internship.service;
 
+import com.aptiv.internship.dto.response.CursorPage;
 import com.aptiv.internship.dto.response.NotificationResponse;
+import com.aptiv.internship.dto.response.UnreadDelta;
 import com.aptiv.internship.entity.Intern;
 import com.aptiv.internship.entity.Notification;
 import com.aptiv.internship.entity.User;
 import com.aptiv.internship.exception.ResourceNotFoundException;
 import com.aptiv.internship.repository.NotificationRepository;
 import com.aptiv.internship.repository.UserRepository;
+import com.aptiv.internship.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
-import org.apache.logging.log4j.Logger;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final RealtimePublisher realtimePublisher;
 
     public Page<NotificationResponse> getMyNotifications(Pageable pageable) {
         User user = getCurrentUser();
@@ -27,13 +43,62 @@ public class NotificationService {
                 .map(this::convertToResponse);
     }
 
+    /**
+     * Cursor mode of {@link #getMyNotifications(Pageable)}: newest first, no total count
+     */
+    public CursorPage<NotificationResponse> getMyNotifications(String cursor, int size) {
+        User user = getCurrentUser();
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Notification> notifications = notificationRepository.findKeysetPage(
+                user, after.getTimestamp(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(notifications, pageSize, this::convertToResponse,
+                notification -> new KeysetCursor(notification.getCreatedAt(), notification.getId()));
+    }
+
+    @Transactional
     public void markNotificationAsRead(Long id) {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", id));
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            realtimePublisher.unreadChanged(notification.getUser(), UnreadDelta.Counter.NOTIFICATIONS, -1);
+        }
         notification.setIsRead(true);
         notificationRepository.save(notification);
     }
 
+    /**
+     * Mark the given notifications of the current user as read, in one UPDATE. Ids of other
+     * users' notifications are ignored.
+     *
+     * @return the number of notifications marked as read
+     */
+    @Transactional
+    public int markNotificationsAsRead(Collection<Long> ids) {
+        User user = getCurrentUser();
+        return publishRead(user, notificationRepository.markRead(user, ids));
+    }
+
+    @Transactional
+    public int markAllNotificationsAsRead() {
+        User user = getCurrentUser();
+        return publishRead(user, notificationRepository.markAllRead(user));
+    }
+
+    /**
+     * Unread notifications of the current user, from the counter maintained by the database
+     */
+    public long getUnreadCount() {
+        return notificationRepository.findUnreadCount(getCurrentUser().getId());
+    }
+
+    private int publishRead(User user, int count) {
+        if (count > 0) {
+            realtimePublisher.unreadChanged(user, UnreadDelta.Counter.NOTIFICATIONS, -count);
+        }
+        return count;
+    }
+
     private User getCurrentUser() {
         String email = getCurrentUserEmail();
         return userRepository.findByEmail(email)
@@ -59,29 +124,87 @@ public class NotificationService {
         return response;
     }
 
+    /**
+     * Push a saved notification and the unread increment to its owner, once the transaction commits
+     */
+    void publishCreated(Notification notification) {
+        realtimePublisher.sendToUser(notification.getUser(), RealtimePublisher.NOTIFICATIONS, convertToResponse(notification));
+        realtimePublisher.unreadChanged(notification.getUser(), UnreadDelta.Counter.NOTIFICATIONS, 1);
+    }
+
+    /**
+     * Save notifications for interns created in the same transaction. They cannot have
+     * notifications yet, so the per-row duplicate check of createNotification is skipped, and
+     * their accounts cannot have an open session, so nothing is pushed.
+     */
+    public List<Notification> createNotificationsForNewInterns(List<Notification> notifications) {
+        return notificationRepository.saveAll(notifications);
+    }
+
+    /**
+     * Save notifications already known to be new (deduplicated by the caller) in one batch, and
+     * push each to its recipient
+     */
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        saved.forEach(this::publishCreated);
+        return saved;
+    }
+
+    /**
+     * Create a notification unless the same one (type, intern and message) already exists, in
+     * which case the existing one is returned. Duplicates are detected by the unique
+     * {@code dedup_key} index, so concurrent callers cannot both insert.
+     */
+    @Transactional
     public Notification createNotification(String subject, String content, Notification.NotificationType notificationType, User user, Intern intern) {
-        // Check if notification already exists to prevent duplicates
-        boolean exists = notificationRepository.existsByInternAndTypeAndMessage(intern, notificationType, content);
-
-        if (!exists) {
-            Notification notification = new Notification();
-            notification.setTitle(subject);
-            notification.setMessage(content);
-            notification.setType(notificationType);
-            notification.setUser(user);
-            notification.setIntern(intern);
-
-            try {
-                return notificationRepository.save(notification);
-            } catch (Exception e) {
-                Logger log = null;
-                log.error("Failed to save notification for intern {}: {}", intern.getId(), e.getMessage());
-                throw new RuntimeException("Failed to create notification");
-            }
+        Long internId = intern != null ? intern.getId() : null;
+        String dedupKey = dedupKey(notificationType, internId, content);
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        Optional<Long> id;
+        try {
+            // The native insert references the user and intern rows: write them first if still pending
+            notificationRepository.flush();
+            id = notificationRepository.insertIfAbsent(subject, content, notificationType.name(),
+                    user.getId(), internId, createdAt, dedupKey);
+        } catch (Exception e) {
+            log.error("Failed to save notification for intern {}: {}", internId, e.getMessage());
+            throw new RuntimeException("Failed to create notification", e);
+        }
+
+        if (id.isEmpty()) {
+            // Return existing notification
+            return notificationRepository.findByDedupKey(dedupKey)
+                    .orElseThrow(() -> new RuntimeException("Failed to create or find notification"));
         }
 
-        // Return existing notification if found
-        return notificationRepository.findByInternAndTypeAndMessage(intern, notificationType, content)
-                .orElseThrow(() -> new RuntimeException("Failed to create or find notification"));
+        // Written by a native statement: build the result instead of reading the row back
+        Notification notification = new Notification();
+        notification.setId(id.get());
+        notification.setTitle(subject);
+        notification.setMessage(content);
+        notification.setType(notificationType);
+        notification.setIsRead(false);
+        notification.setCreatedAt(createdAt);
+        notification.setDedupKey(dedupKey);
+        notification.setUser(user);
+        notification.setIntern(intern);
+        publishCreated(notification);
+        return notification;
+    }
+
+    /**
+     * Hex SHA-256 of type, intern id and message. V14 backfills existing rows with the same
+     * formula in SQL, so the two must stay in sync.
+     */
+    static String dedupKey(Notification.NotificationType type, Long internId, String message) {
+        String source = type.name() + ":" + (internId != null ? internId : "") + ":" + message;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.aptiv.internship.service;
 import com.aptiv.internship.dto.request.ChangePasswordRequest;
 import com.aptiv.internship.dto.response.ChangePasswordResponse;
 import com.aptiv.internship.entity.User;
+import com.aptiv.internship.exception.ResourceNotFoundException;
 import com.aptiv.internship.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,9 +18,14 @@ public class PasswordService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     @Transactional
-    public ChangePasswordResponse changePassword(User user, ChangePasswordRequest request) {
+    public ChangePasswordResponse changePassword(User principal, ChangePasswordRequest request) {
+        // The principal is a detached, possibly stale copy: check and update the managed user
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", principal.getId()));
+
         // Validate current password
         if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
             return new ChangePasswordResponse(false, "Current password is incorrect");
@@ -41,6 +47,7 @@ public class PasswordService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        principalCache.evictAfterCommit(user);
 
         return new ChangePasswordResponse(true, "Password changed successfully");
     }
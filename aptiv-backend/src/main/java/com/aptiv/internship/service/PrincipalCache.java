@@ -0,0 +1,156 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Authenticated principals by email, so a request carrying a JWT does not need a user lookup.
+ * Entries expire after a TTL and the least recently used ones are evicted beyond the maximum
+ * size. Services that change credentials or the active flag must {@link #evict} the user.
+ * <p>
+ * A {@link User} is cached as an immutable snapshot and every request gets its own detached copy,
+ * so requests never share an entity instance. The copy may be stale by up to the TTL: code that
+ * writes a user must load the managed entity by id rather than save the principal.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+    // Evictions per email, guarded by entries: a load that raced an eviction must not be cached
+    private final Map<String, Long> generations = new HashMap<>();
+
+    public PrincipalCache(@Value("${aptiv.internship.security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${aptiv.internship.security.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * The cached principal for this email, loaded with {@code loader} when missing or expired
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        long now = System.nanoTime();
+        long generation;
+        synchronized (entries) {
+            Entry entry = entries.get(email);
+            if (entry != null && now - entry.loadedAt < ttlNanos) {
+                return entry.toPrincipal();
+            }
+            generation = generations.getOrDefault(email, 0L);
+        }
+        // Load outside the lock: a concurrent miss for the same email only costs a second query
+        Entry entry = new Entry(loader.apply(email), now);
+        synchronized (entries) {
+            // An eviction during the load means it may have read the row before the change
+            if (generations.getOrDefault(email, 0L) == generation) {
+                entries.put(email, entry);
+            }
+        }
+        return entry.toPrincipal();
+    }
+
+    public void evict(String email) {
+        synchronized (entries) {
+            entries.remove(email);
+            generations.merge(email, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Evict now and again once the current transaction commits. A request that loaded the
+     * uncommitted, old row in between is not cached: the second eviction drops its entry, or
+     * makes it skip the put if it has not finished loading yet.
+     */
+    public void evictAfterCommit(User user) {
+        String email = user.getEmail();
+        evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(email);
+                }
+            });
+        }
+    }
+
+    private static final class Entry {
+        private final UserSnapshot user;
+        private final UserDetails principal; // Other principal types, cached as loaded
+        private final long loadedAt;
+
+        Entry(UserDetails loaded, long loadedAt) {
+            this.user = loaded instanceof User loadedUser ? new UserSnapshot(loadedUser) : null;
+            this.principal = user == null ? loaded : null;
+            this.loadedAt = loadedAt;
+        }
+
+        UserDetails toPrincipal() {
+            return user != null ? user.toUser() : principal;
+        }
+    }
+
+    /**
+     * The columns of a user at load time; the associations of the entity are not part of it
+     */
+    private static final class UserSnapshot {
+        private final Long id;
+        private final String email;
+        private final String password;
+        private final String firstName;
+        private final String lastName;
+        private final User.Role role;
+        private final boolean active;
+        private final LocalDateTime passwordChangedAt;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+
+        UserSnapshot(User user) {
+            this.id = user.getId();
+            this.email = user.getEmail();
+            this.password = user.getPassword();
+            this.firstName = user.getFirstName();
+            this.lastName = user.getLastName();
+            this.role = user.getRole();
+            this.active = user.getActive();
+            this.passwordChangedAt = user.getPasswordChangedAt();
+            this.createdAt = user.getCreatedAt();
+            this.updatedAt = user.getUpdatedAt();
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setEmail(email);
+            user.setPassword(password);
+            user.setFirstName(firstName);
+            user.setLastName(lastName);
+            user.setRole(role);
+            user.setActive(active);
+            user.setPasswordChangedAt(passwordChangedAt);
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(updatedAt);
+            return user;
+        }
+    }
+}
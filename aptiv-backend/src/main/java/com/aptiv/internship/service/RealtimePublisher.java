@@ -0,0 +1,82 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.dto.response.UnreadDelta;
+import com.aptiv.internship.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Pushes changes to the STOMP user destinations of their owner ({@code /user/queue/...}), once
+ * the transaction that made them commits. Which broker delivers them (in-memory or relay) is
+ * decided by {@link com.aptiv.internship.config.WebSocketConfig}. Push is best effort: clients
+ * still load the current state over REST when they connect.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RealtimePublisher {
+    public static final String NOTIFICATIONS = "/queue/notifications";
+    public static final String MESSAGES = "/queue/messages";
+    public static final String UNREAD = "/queue/unread";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    /**
+     * Push a payload to a user. The payload must already be converted, as entities cannot be
+     * lazily loaded after commit.
+     */
+    public void sendToUser(User user, String destination, Object payload) {
+        String email = emailOf(user);
+        if (email != null) {
+            sendToUser(email, destination, payload);
+        }
+    }
+
+    public void sendToUser(String email, String destination, Object payload) {
+        afterCommit(() -> {
+            try {
+                messagingTemplate.convertAndSendToUser(email, destination, payload);
+            } catch (Exception e) {
+                log.warn("Failed to push {} to {}: {}", destination, email, e.getMessage());
+            }
+        });
+    }
+
+    public void unreadChanged(String email, UnreadDelta.Counter counter, int delta) {
+        sendToUser(email, UNREAD, new UnreadDelta(counter, delta));
+    }
+
+    public void unreadChanged(User user, UnreadDelta.Counter counter, int delta) {
+        String email = emailOf(user);
+        if (email != null) {
+            unreadChanged(email, counter, delta);
+        }
+    }
+
+    private String emailOf(User user) {
+        try {
+            return user.getEmail();
+        } catch (RuntimeException e) {
+            // Uninitialized proxy outside a session: skip the push rather than fail the write
+            log.debug("Skipping push: recipient not loaded ({})", e.getMessage());
+            return null;
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
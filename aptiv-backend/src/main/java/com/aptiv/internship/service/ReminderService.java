@@ -0,0 +1,132 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.entity.Notification;
+import com.aptiv.internship.entity.User;
+import com.aptiv.internship.repository.InternRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the "internship ending soon" reminders. Only interns ending exactly on one of the
+ * configured days ({@code aptiv.internship.notification.days-before-end}) are selected, and each
+ * reminder is claimed in the {@code reminder_ledger} table before anything is sent, so reruns and
+ * other nodes running the same job skip it. Each HR user gets one digest email per run.
+ */
+@Service
+@Slf4j
+public class ReminderService {
+    // Claims the reminders due today in one statement; rows already in the ledger (sent by an
+    // earlier run or by another node) are skipped and not returned
+    private static final String CLAIM_ENDING_SQL = "INSERT INTO reminder_ledger (reminder_key, intern_id, days_before) " +
+            "SELECT 'INTERNSHIP_ENDING:' || i.id || ':' || i.end_date || ':' || (i.end_date - CAST(? AS DATE)), " +
+            "i.id, i.end_date - CAST(? AS DATE) " +
+            "FROM interns i WHERE i.status = 'ACTIVE' AND i.end_date IN (%s) " +
+            "ON CONFLICT (reminder_key) DO NOTHING " +
+            "RETURNING intern_id, days_before";
+
+    private static final String SUBJECT = "Internship Ending Soon";
+
+    private final InternRepository internRepository;
+    private final NotificationService notificationService;
+    private final EmailOutboxService emailOutboxService;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Integer> daysBeforeEnd;
+
+    public ReminderService(InternRepository internRepository,
+                           NotificationService notificationService,
+                           EmailOutboxService emailOutboxService,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${aptiv.internship.notification.days-before-end:30,7,1}") List<Integer> daysBeforeEnd) {
+        this.internRepository = internRepository;
+        this.notificationService = notificationService;
+        this.emailOutboxService = emailOutboxService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.daysBeforeEnd = daysBeforeEnd.stream().distinct().toList();
+    }
+
+    @Scheduled(cron = "0 29 23 * * ?") // Daily at 23:29
+    @Transactional
+    public void sendInternshipEndingReminders() {
+        if (daysBeforeEnd.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        Date todayParam = Date.valueOf(today);
+        List<Object> params = new ArrayList<>();
+        params.add(todayParam);
+        params.add(todayParam);
+        daysBeforeEnd.forEach(days -> params.add(Date.valueOf(today.plusDays(days))));
+        String sql = String.format(CLAIM_ENDING_SQL,
+                daysBeforeEnd.stream().map(days -> "?").collect(Collectors.joining(", ")));
+
+        Map<Long, Integer> claimed = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> claimed.put(rs.getLong("intern_id"), rs.getInt("days_before")),
+                params.toArray());
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        // The ledger rows, notifications and outbox emails commit together: a failed run
+        // releases its claims and the next run (on any node) sends them again
+        Map<Long, List<Intern>> byHrUser = new LinkedHashMap<>();
+        List<Notification> notifications = new ArrayList<>(claimed.size());
+        List<Intern> interns = internRepository.findByIdIn(claimed.keySet());
+        interns.sort(Comparator.comparing(Intern::getEndDate).thenComparing(Intern::getLastName));
+        for (Intern intern : interns) {
+            Notification notification = new Notification();
+            notification.setTitle(SUBJECT);
+            notification.setMessage(describe(intern, claimed.get(intern.getId())));
+            notification.setType(Notification.NotificationType.INTERNSHIP_ENDING);
+            notification.setUser(intern.getUser());
+            notification.setIntern(intern);
+            notifications.add(notification);
+            byHrUser.computeIfAbsent(intern.getUser().getId(), id -> new ArrayList<>()).add(intern);
+        }
+        notificationService.createNotifications(notifications);
+
+        for (List<Intern> ending : byHrUser.values()) {
+            User hrUser = ending.get(0).getUser();
+            emailOutboxService.enqueue(hrUser.getEmail(), SUBJECT + " (" + ending.size() + ")",
+                    buildDigest(hrUser, ending, claimed));
+        }
+        log.info("Sent {} internship ending reminders to {} HR users", interns.size(), byHrUser.size());
+    }
+
+    private static String describe(Intern intern, int daysLeft) {
+        return String.format(
+                "%s %s's internship ends in %d days (End date: %s)",
+                intern.getFirstName(),
+                intern.getLastName(),
+                daysLeft,
+                intern.getEndDate()
+        );
+    }
+
+    private static String buildDigest(User hrUser, List<Intern> ending, Map<Long, Integer> daysLeft) {
+        StringBuilder body = new StringBuilder();
+        body.append("Dear ").append(hrUser.getFirstName()).append(",\n\n")
+                .append("The following internships are ending soon:\n\n");
+        for (Intern intern : ending) {
+            body.append(" - ").append(describe(intern, daysLeft.get(intern.getId())))
+                    .append(", ").append(intern.getDepartment()).append('\n');
+        }
+        body.append("\nBest regards,\nAptiv Internship Management System");
+        return body.toString();
+    }
+}
@@ -0,0 +1,316 @@
+package com.aptiv.internship.service;
+
+import com.aptiv.internship.entity.Activity;
+import com.aptiv.internship.entity.Attendance;
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.exception.ResourceNotFoundException;
+import com.aptiv.internship.exception.ServiceUnavailableException;
+import com.aptiv.internship.repository.ActivityRepository;
+import com.aptiv.internship.repository.AttendanceRepository;
+import com.aptiv.internship.repository.InternRepository;
+import com.aptiv.internship.util.ReportGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Renders activity and attendance PDF reports on a bounded pool and caches them on disk under
+ * {@code <file-storage-path>/reports}. A report's version is a hash of the data it shows (intern
+ * rows, activity count and latest createdAt, attendance rows), computed with one query, so an
+ * unchanged report is served from the cache and a changed one is rendered again. Concurrent
+ * requests for the same version share one render. Superseded versions are deleted by a periodic
+ * sweep once a grace period has passed, as a response may still be about to stream one.
+ */
+@Service
+@Slf4j
+public class ReportService {
+    // Bump when the PDF layout changes, so cached reports are rendered again
+    private static final String LAYOUT_VERSION = "1";
+
+    private static final String FINGERPRINT_SQL = "WITH scope AS (SELECT id, updated_at FROM interns WHERE %s) " +
+            "SELECT (SELECT COUNT(*) || ':' || COALESCE(MAX(updated_at)::text, '') FROM scope) " +
+            "|| '|' || (SELECT COUNT(*) || ':' || COALESCE(MAX(a.id), 0) || ':' || COALESCE(MAX(a.created_at)::text, '') " +
+            "FROM activities a JOIN scope s ON s.id = a.intern_id) " +
+            // Attendance rows are updated in place (check-out, status): hash their content
+            "|| '|' || (SELECT COALESCE(md5(string_agg(t.id || t.status || COALESCE(t.check_in_time::text, '') " +
+            "|| COALESCE(t.check_out_time::text, ''), ',' ORDER BY t.id)), '') " +
+            "FROM attendance t JOIN scope s ON s.id = t.intern_id)";
+
+    private final InternRepository internRepository;
+    private final ActivityRepository activityRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path reportDir;
+    private final long renderTimeoutMillis;
+    private final Duration staleVersionGrace;
+    private final ThreadPoolExecutor executor;
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public ReportService(InternRepository internRepository,
+                         ActivityRepository activityRepository,
+                         AttendanceRepository attendanceRepository,
+                         JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${aptiv.internship.file-storage-path}") String fileStoragePath,
+                         @Value("${aptiv.internship.reports.threads:2}") int threads,
+                         @Value("${aptiv.internship.reports.queue-capacity:20}") int queueCapacity,
+                         @Value("${aptiv.internship.reports.render-timeout-ms:60000}") long renderTimeoutMillis,
+                         @Value("${aptiv.internship.reports.stale-version-grace-seconds:300}") long staleVersionGraceSeconds) {
+        this.internRepository = internRepository;
+        this.activityRepository = activityRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.reportDir = Paths.get(fileStoragePath, "reports").toAbsolutePath().normalize();
+        this.renderTimeoutMillis = renderTimeoutMillis;
+        this.staleVersionGrace = Duration.ofSeconds(staleVersionGraceSeconds);
+        AtomicInteger counter = new AtomicInteger();
+        // Rendering is CPU and memory heavy: a full queue rejects new reports instead of piling them up
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "report-renderer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Describe the activity report of one intern, without rendering it
+     */
+    public Report internActivityReport(Long internId) {
+        if (!internRepository.existsById(internId)) {
+            throw new ResourceNotFoundException("Intern", "id", internId);
+        }
+        String version = version(fingerprint("id = ?", internId));
+        return new Report("intern-" + internId, version, "activity-report-intern-" + internId + ".pdf",
+                out -> writeInternReport(internId, out));
+    }
+
+    /**
+     * Describe the activity report of every intern of a department, without rendering it
+     */
+    public Report departmentActivityReport(String department) {
+        if (!internRepository.existsByDepartment(department)) {
+            throw new ResourceNotFoundException("Department", "name", department);
+        }
+        String version = version(fingerprint("department = ?", department));
+        // The department name is user input: keep it out of the cache file name
+        String subject = "department-" + sha256(department).substring(0, 16);
+        return new Report(subject, version, "activity-report-" + department.replaceAll("[^A-Za-z0-9_-]", "_") + ".pdf",
+                out -> writeDepartmentReport(department, out));
+    }
+
+    /**
+     * The cached PDF of the report, rendering it first if this version is not cached yet
+     */
+    public Path render(Report report) {
+        Path target = reportDir.resolve(report.subject + "-" + report.version + ".pdf");
+        if (Files.exists(target)) {
+            return target;
+        }
+        CompletableFuture<Path> future = inFlight.computeIfAbsent(target, path -> {
+            try {
+                return CompletableFuture.supplyAsync(() -> renderToFile(report, path), executor);
+            } catch (RejectedExecutionException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        future.whenComplete((path, error) -> inFlight.remove(target, future));
+
+        try {
+            return future.get(renderTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The render goes on and is cached for the next request
+            throw new ServiceUnavailableException("Report is still being generated, retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Report generation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                throw new ServiceUnavailableException("Too many reports being generated, retry shortly", e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Failed to generate report: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Delete the versions that were replaced by a newer one more than the grace period ago. A
+     * request that resolved a version just before it was replaced can still stream it.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void deleteSupersededVersions() {
+        if (!Files.isDirectory(reportDir)) {
+            return;
+        }
+        Map<String, List<Path>> versionsBySubject = new HashMap<>();
+        Map<Path, FileTime> writtenAt = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(reportDir, "*.pdf")) {
+            for (Path file : files) {
+                // <subject>-<version>.pdf, where the version has no dash
+                String name = file.getFileName().toString();
+                int dash = name.lastIndexOf('-');
+                if (dash > 0) {
+                    versionsBySubject.computeIfAbsent(name.substring(0, dash), subject -> new ArrayList<>()).add(file);
+                    writtenAt.put(file, Files.getLastModifiedTime(file));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list cached reports: {}", e.getMessage());
+            return;
+        }
+
+        FileTime cutoff = FileTime.from(Instant.now().minus(staleVersionGrace));
+        for (List<Path> versions : versionsBySubject.values()) {
+            versions.sort(Comparator.comparing(writtenAt::get, Comparator.reverseOrder()));
+            // Each version was superseded when the next newer one was written
+            for (int i = 1; i < versions.size(); i++) {
+                if (writtenAt.get(versions.get(i - 1)).compareTo(cutoff) < 0) {
+                    deleteQuietly(versions.get(i));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Path renderToFile(Report report, Path target) {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(reportDir);
+            Path tempFile = Files.createTempFile(reportDir, "render-", ".part");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                    // Lazy associations are read while rendering: keep one read-only transaction open
+                    readOnlyTransaction.executeWithoutResult(status -> report.writer.accept(out));
+                }
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            log.info("Rendered {} in {} ms", target.getFileName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return target;
+        } catch (IOException e) {
+            log.error("Failed to render report {}: {}", target.getFileName(), e.getMessage(), e);
+            throw new UncheckedIOException("Failed to render report: " + e.getMessage(), e);
+        }
+    }
+
+    private void deleteQuietly(Path version) {
+        try {
+            Files.deleteIfExists(version);
+        } catch (IOException e) {
+            log.warn("Failed to delete stale report {}: {}", version.getFileName(), e.getMessage());
+        }
+    }
+
+    private void writeInternReport(Long internId, OutputStream out) {
+        Intern intern = internRepository.findById(internId)
+                .orElseThrow(() -> new ResourceNotFoundException("Intern", "id", internId));
+        List<Activity> activities = activityRepository.findByInternIdInOrderByActivityDateAsc(List.of(internId));
+        Map<Attendance.AttendanceStatus, Long> attendance = attendanceCounts(List.of(internId))
+                .getOrDefault(internId, Map.of());
+        ReportGenerator.writeActivityReport(intern, activities, attendance, out);
+    }
+
+    private void writeDepartmentReport(String department, OutputStream out) {
+        List<Intern> interns = internRepository.findByDepartmentOrderByLastNameAscFirstNameAsc(department);
+        List<Long> internIds = interns.stream().map(Intern::getId).toList();
+        Map<Long, List<Activity>> activities = activityRepository.findByInternIdInOrderByActivityDateAsc(internIds).stream()
+                .collect(Collectors.groupingBy(activity -> activity.getIntern().getId()));
+        ReportGenerator.writeDepartmentReport(department, interns, activities, attendanceCounts(internIds), out);
+    }
+
+    private Map<Long, Map<Attendance.AttendanceStatus, Long>> attendanceCounts(Collection<Long> internIds) {
+        Map<Long, Map<Attendance.AttendanceStatus, Long>> counts = new HashMap<>();
+        for (Object[] row : attendanceRepository.countByInternIdsGroupByStatus(internIds)) {
+            counts.computeIfAbsent((Long) row[0], id -> new EnumMap<>(Attendance.AttendanceStatus.class))
+                    .put((Attendance.AttendanceStatus) row[1], (Long) row[2]);
+        }
+        return counts;
+    }
+
+    private String fingerprint(String internCondition, Object parameter) {
+        return jdbcTemplate.queryForObject(String.format(FINGERPRINT_SQL, internCondition), String.class, parameter);
+    }
+
+    private static String version(String fingerprint) {
+        return sha256(LAYOUT_VERSION + "|" + fingerprint).substring(0, 16);
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A report to render: its cache subject, the version of its data (also its ETag) and the
+     * file name offered to the client
+     */
+    public static final class Report {
+        private final String subject;
+        @Getter
+        private final String version;
+        @Getter
+        private final String downloadName;
+        private final Consumer<OutputStream> writer;
+
+        Report(String subject, String version, String downloadName, Consumer<OutputStream> writer) {
+            this.subject = subject;
+            this.version = version;
+            this.downloadName = downloadName;
+            this.writer = writer;
+        }
+    }
+}
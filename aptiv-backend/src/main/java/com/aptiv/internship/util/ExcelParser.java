@@ -1,140 +1,291 @@
 package com.aptiv.internship.util;
 
 import com.aptiv.internship.dto.request.InternRequest;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.aptiv.internship.dto.response.BatchErrorResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.DateUtil;
-
-import static org.apache.poi.ss.usermodel.CellType.*;
+import java.util.*;
+import java.util.function.Consumer;
 
+/**
+ * Reads intern rows from the first sheet of an .xlsx file with POI's SAX event API, so the
+ * workbook is never materialized as a DOM and heap use does not grow with the row count.
+ */
 @Component
 public class ExcelParser {
+    private static final int DEFAULT_CHUNK_SIZE = 500;
 
+    /**
+     * Parse every intern row into memory. Prefer {@link #streamInterns} for large files.
+     */
     public List<InternRequest> parseInterns(MultipartFile file) throws IOException {
         List<InternRequest> requests = new ArrayList<>();
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = new XSSFWorkbook(is)) {
-            Sheet sheet = workbook.getSheetAt(0); // Use the first sheet
-            Iterator<Row> rows = sheet.iterator();
-            if (!rows.hasNext()) {
-                throw new IllegalArgumentException("Excel file is empty");
-            }
-
-            Row headerRow = rows.next(); // First row is the header
-            List<String> headers = getHeaders(headerRow);
-
-            while (rows.hasNext()) {
-                Row row = rows.next();
-                InternRequest request = mapRowToRequest(row, headers);
-                if (request != null) {
-                    requests.add(request);
+        streamInterns(file, DEFAULT_CHUNK_SIZE, requests::addAll);
+        return requests;
+    }
+
+    /**
+     * Hand the intern rows to {@code consumer} in chunks of at most {@code chunkSize} rows, as
+     * the sheet is read. Invalid rows throw {@link IllegalArgumentException} with their row number.
+     *
+     * @return the number of rows read
+     */
+    public int streamInterns(MultipartFile file, int chunkSize, Consumer<List<InternRequest>> consumer) throws IOException {
+        return streamInternRows(file, chunkSize,
+                rows -> consumer.accept(rows.stream().map(InternRow::getRequest).toList()), null);
+    }
+
+    /**
+     * Like {@link #streamInterns}, but keeps the sheet row number of each request. When
+     * {@code rowErrors} is given, invalid rows are reported there and skipped instead of
+     * aborting the parse.
+     *
+     * @return the number of valid rows read
+     */
+    public int streamInternRows(MultipartFile file, int chunkSize, Consumer<List<InternRow>> consumer,
+                                Consumer<BatchErrorResponse> rowErrors) throws IOException {
+        // OPCPackage reads the zip lazily from a file, but would buffer a whole input stream
+        Path tempFile = Files.createTempFile("intern-import-", ".xlsx");
+        try {
+            try (InputStream is = file.getInputStream()) {
+                Files.copy(is, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+                StylesTable styles = reader.getStylesTable();
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    throw new IllegalArgumentException("Excel file is empty");
+                }
+
+                InternRowHandler handler = new InternRowHandler(chunkSize, consumer, rowErrors);
+                try (InputStream sheet = sheets.next()) { // Use the first sheet
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings, handler, new IsoDateFormatter(), false));
+                    parser.parse(new InputSource(sheet));
                 }
+                handler.flush();
+                if (handler.columns == null) {
+                    throw new IllegalArgumentException("Excel file is empty");
+                }
+                return handler.rowCount;
+            } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+                throw new IOException("Failed to read Excel file: " + e.getMessage(), e);
             }
+        } finally {
+            Files.deleteIfExists(tempFile);
         }
-        return requests;
     }
 
-    private List<String> getHeaders(Row headerRow) {
-        List<String> headers = new ArrayList<>();
-        for (Cell cell : headerRow) {
-            headers.add(cell.getStringCellValue().trim().toLowerCase());
-        }
-        return headers;
+    /**
+     * A parsed request with its 1-based row number in the sheet
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class InternRow {
+        private final int rowNumber;
+        private final InternRequest request;
     }
 
-    private InternRequest mapRowToRequest(Row row, List<String> headers) {
-        InternRequest request = new InternRequest();
-        for (int i = 0; i < headers.size(); i++) {
-            Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-            String header = headers.get(i).trim().toLowerCase();
-            String cellValue = getCellValueAsString(cell);
-
-            switch (header) {
-                case "first name":
-                    if (cellValue.isEmpty()) {
-                        throw new IllegalArgumentException("First name is required in row " + (row.getRowNum() + 1));
-                    }
-                    request.setFirstName(cellValue);
-                    break;
-                case "last name":
-                    request.setLastName(cellValue); // Optional
-                    break;
-                case "email":
-                    request.setEmail(cellValue); // Optional
-                    break;
-                case "phone":
-                    request.setPhone(cellValue); // Optional
-                    break;
-                case "university":
-                    request.setUniversity(cellValue); // Optional
-                    break;
-                case "major":
-                    request.setMajor(cellValue); // Optional
-                    break;
-                case "start date":
-                    if (cellValue.isEmpty()) {
-                        throw new IllegalArgumentException("Start date is required in row " + (row.getRowNum() + 1));
-                    }
-                    try {
-                        request.setStartDate(LocalDate.parse(cellValue));
-                    } catch (DateTimeParseException e) {
-                        throw new IllegalArgumentException("Invalid start date format in row " + (row.getRowNum() + 1));
-                    }
-                    break;
-                case "end date":
-                    if (cellValue.isEmpty()) {
-                        throw new IllegalArgumentException("End date is required in row " + (row.getRowNum() + 1));
-                    }
-                    try {
-                        request.setEndDate(LocalDate.parse(cellValue));
-                    } catch (DateTimeParseException e) {
-                        throw new IllegalArgumentException("Invalid end date format in row " + (row.getRowNum() + 1));
-                    }
-                    break;
-                case "supervisor":
-                    request.setSupervisor(cellValue); // Optional
-                    break;
-                case "department":
-                    if (cellValue.isEmpty()) {
-                        throw new IllegalArgumentException("Department is required in row " + (row.getRowNum() + 1));
-                    }
-                    request.setDepartment(cellValue);
-                    break;
-                default:
-                    // Ignore unrecognized headers
+    private enum Column {
+        FIRST_NAME("first name"),
+        LAST_NAME("last name"),
+        EMAIL("email"),
+        PHONE("phone"),
+        UNIVERSITY("university"),
+        MAJOR("major"),
+        START_DATE("start date"),
+        END_DATE("end date"),
+        SUPERVISOR("supervisor"),
+        DEPARTMENT("department");
+
+        private static final Map<String, Column> BY_HEADER = new HashMap<>();
+
+        static {
+            for (Column column : values()) {
+                BY_HEADER.put(column.header, column);
             }
         }
-        return request;
+
+        private final String header;
+
+        Column(String header) {
+            this.header = header;
+        }
+
+        static Column fromHeader(String header) {
+            return BY_HEADER.get(header.trim().toLowerCase());
+        }
     }
 
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) {
-            return ""; // Return empty string for null cells
+    /**
+     * Collects the cells of each row. The first row is the header: it is resolved once into a
+     * column-index to {@link Column} mapping, then every following row is validated and buffered.
+     */
+    private static final class InternRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final int chunkSize;
+        private final Consumer<List<InternRow>> consumer;
+        private final Consumer<BatchErrorResponse> rowErrors;
+        private final Map<Integer, String> headerCells = new HashMap<>();
+        private Column[] columns;
+        private final EnumMap<Column, String> values = new EnumMap<>(Column.class);
+        private int nextColumn;
+        private List<InternRow> chunk;
+        private int rowCount;
+
+        InternRowHandler(int chunkSize, Consumer<List<InternRow>> consumer, Consumer<BatchErrorResponse> rowErrors) {
+            this.chunkSize = chunkSize;
+            this.consumer = consumer;
+            this.rowErrors = rowErrors;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            values.clear();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (formattedValue == null) {
+                return;
+            }
+            if (columns == null) {
+                headerCells.put(column, formattedValue);
+            } else if (column < columns.length && columns[column] != null) {
+                String value = formattedValue.trim();
+                if (!value.isEmpty()) {
+                    values.put(columns[column], value);
+                }
+            }
         }
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim(); // Extract string values
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getLocalDateTimeCellValue().toLocalDate().toString(); // Handle dates
+
+        @Override
+        public void endRow(int rowNum) {
+            if (columns == null) {
+                resolveColumns();
+                return;
+            }
+            if (values.isEmpty()) {
+                return; // Formatted but empty row
+            }
+            int rowNumber = rowNum + 1;
+            InternRequest request;
+            try {
+                request = toRequest(rowNumber);
+            } catch (IllegalArgumentException e) {
+                if (rowErrors == null) {
+                    throw e;
                 }
-                return String.valueOf(cell.getNumericCellValue()); // Handle numbers
-            case BLANK:
-                return ""; // Return empty string for blank cells
-            default:
-                return ""; // Fallback for unhandled types
+                rowErrors.accept(new BatchErrorResponse(rowNumber, "INVALID_ROW", e.getMessage()));
+                return;
+            }
+            chunk.add(new InternRow(rowNumber, request));
+            rowCount++;
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!chunk.isEmpty()) {
+                consumer.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        private void resolveColumns() {
+            int width = headerCells.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+            columns = new Column[width];
+            headerCells.forEach((index, header) -> columns[index] = Column.fromHeader(header));
+            // Unrecognized headers stay null and their cells are ignored
+        }
+
+        private InternRequest toRequest(int rowNumber) {
+            InternRequest request = new InternRequest();
+            request.setFirstName(required(Column.FIRST_NAME, "First name", rowNumber));
+            // The remaining columns are NOT NULL in the database: reject the row here rather
+            // than failing the insert
+            request.setLastName(required(Column.LAST_NAME, "Last name", rowNumber));
+            request.setEmail(required(Column.EMAIL, "Email", rowNumber));
+            if (!request.getEmail().contains("@")) {
+                throw new IllegalArgumentException("Invalid email in row " + rowNumber);
+            }
+            request.setPhone(required(Column.PHONE, "Phone", rowNumber));
+            request.setUniversity(required(Column.UNIVERSITY, "University", rowNumber));
+            request.setMajor(required(Column.MAJOR, "Major", rowNumber));
+            request.setStartDate(requiredDate(Column.START_DATE, "start date", rowNumber));
+            request.setEndDate(requiredDate(Column.END_DATE, "end date", rowNumber));
+            if (!request.isEndDateAfterStartDate()) {
+                throw new IllegalArgumentException("End date must be after start date in row " + rowNumber);
+            }
+            request.setSupervisor(required(Column.SUPERVISOR, "Supervisor", rowNumber));
+            request.setDepartment(required(Column.DEPARTMENT, "Department", rowNumber));
+            return request;
+        }
+
+        private String required(Column column, String label, int rowNumber) {
+            String value = values.get(column);
+            if (value == null) {
+                throw new IllegalArgumentException(label + " is required in row " + rowNumber);
+            }
+            return value;
+        }
+
+        private LocalDate requiredDate(Column column, String label, int rowNumber) {
+            String value = values.get(column);
+            if (value == null) {
+                throw new IllegalArgumentException(Character.toUpperCase(label.charAt(0)) + label.substring(1)
+                        + " is required in row " + rowNumber);
+            }
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid " + label + " format in row " + rowNumber);
+            }
+        }
+    }
+
+    /**
+     * Formats date-styled numeric cells as ISO dates, which is what the row mapping parses
+     */
+    private static final class IsoDateFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
         }
     }
-}
\ No newline at end of file
+}
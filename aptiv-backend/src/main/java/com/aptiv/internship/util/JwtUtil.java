@@ -2,6 +2,7 @@ package com.aptiv.internship.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -11,6 +12,7 @@ import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Component
@@ -22,9 +24,55 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 hours
     private int jwtExpiration;
 
+    // Verified claims by token, so SPA polling with the same token skips signature verification
+    private static final long VERIFIED_TOKEN_TTL_MILLIS = 60_000;
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
+    private Key signingKey;
+    private JwtParser parser; // immutable and thread-safe
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private Key getSigningKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    /**
+     * Verify the signature and expiration of a token once and return its claims, or null when
+     * the token is invalid or expired
+     */
+    public Claims verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (now < cached.validUntil) {
+                return cached.claims;
+            }
+            verifiedTokens.remove(token, cached);
+        }
+
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        long validUntil = now + VERIFIED_TOKEN_TTL_MILLIS;
+        if (claims.getExpiration() != null) {
+            validUntil = Math.min(validUntil, claims.getExpiration().getTime());
+        }
+        if (verifiedTokens.size() >= VERIFIED_TOKEN_CACHE_SIZE) {
+            verifiedTokens.clear(); // Entries are short-lived, dropping them all only costs re-verification
+        }
+        verifiedTokens.put(token, new VerifiedToken(claims, validUntil));
+        return claims;
     }
 
     public String extractUsername(String token) {
@@ -36,16 +84,15 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token);
+        if (claims == null) {
+            throw new MalformedJwtException("Invalid or expired JWT");
+        }
         return claimsResolver.apply(claims);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     private Boolean isTokenExpired(String token) {
@@ -80,4 +127,14 @@ public class JwtUtil {
     public String extractRole(String token) {
         return extractClaim(token, claims -> claims.get("role", String.class));
     }
+
+    private static final class VerifiedToken {
+        private final Claims claims;
+        private final long validUntil;
+
+        VerifiedToken(Claims claims, long validUntil) {
+            this.claims = claims;
+            this.validUntil = validUntil;
+        }
+    }
 }
\ No newline at end of file
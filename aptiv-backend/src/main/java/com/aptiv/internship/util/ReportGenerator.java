@@ -1,6 +1,7 @@
 package com.aptiv.internship.util;
 
 import com.aptiv.internship.entity.Activity;
+import com.aptiv.internship.entity.Attendance;
 import com.aptiv.internship.entity.Intern;
 import com.lowagie.text.*;
 import com.lowagie.text.Font;
@@ -9,28 +10,43 @@ import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 public class ReportGenerator {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int FLUSH_ROWS = 100;
+
     public static byte[] generateActivityReport(Intern intern, List<Activity> activities) {
-        Document document = new Document(PageSize.A4);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeActivityReport(intern, activities, Map.of(), outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Render the activity and attendance report of one intern. Pages are written to
+     * {@code outputStream} as they are completed, so the PDF is never held in memory.
+     */
+    public static void writeActivityReport(Intern intern, List<Activity> activities,
+                                           Map<Attendance.AttendanceStatus, Long> attendance,
+                                           OutputStream outputStream) {
+        Document document = new Document(PageSize.A4);
 
         try {
             PdfWriter.getInstance(document, outputStream);
             document.open();
 
             // Add title
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, Color.BLUE);
-            Paragraph title = new Paragraph("Intern Activity Report", titleFont);
+            Paragraph title = new Paragraph("Intern Activity Report", titleFont());
             title.setAlignment(Element.ALIGN_CENTER);
             title.setSpacingAfter(20f);
             document.add(title);
 
             // Add intern information
-            Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
-            Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 12);
+            Font headerFont = headerFont();
+            Font normalFont = normalFont();
 
             document.add(new Paragraph("Intern Information:", headerFont));
             document.add(new Paragraph("Name: " + intern.getFirstName() + " " + intern.getLastName(), normalFont));
@@ -44,47 +60,141 @@ public class ReportGenerator {
 
             document.add(Chunk.NEWLINE);
 
+            // Add attendance summary
+            if (!attendance.isEmpty()) {
+                document.add(new Paragraph("Attendance:", headerFont));
+                for (Attendance.AttendanceStatus status : Attendance.AttendanceStatus.values()) {
+                    document.add(new Paragraph(status.name() + ": " + attendance.getOrDefault(status, 0L), normalFont));
+                }
+                document.add(Chunk.NEWLINE);
+            }
+
             // Add activities table
             document.add(new Paragraph("Daily Activities:", headerFont));
             document.add(Chunk.NEWLINE);
+            addActivitiesTable(document, activities);
 
-            PdfPTable table = new PdfPTable(2);
-            table.setWidthPercentage(100);
-            table.setSpacingBefore(10f);
-            table.setSpacingAfter(10f);
-
-            // Table headers
-            PdfPCell dateHeader = new PdfPCell(new Phrase("Date", headerFont));
-            dateHeader.setBackgroundColor(new Color(220, 220, 220));
-            dateHeader.setHorizontalAlignment(Element.ALIGN_CENTER);
-            table.addCell(dateHeader);
-
-            PdfPCell activityHeader = new PdfPCell(new Phrase("Activities", headerFont));
-            activityHeader.setBackgroundColor(new Color(220, 220, 220));
-            activityHeader.setHorizontalAlignment(Element.ALIGN_CENTER);
-            table.addCell(activityHeader);
-
-            // Table data
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            for (Activity activity : activities) {
-                table.addCell(new Phrase(activity.getActivityDate().format(dateFormatter), normalFont));
-                table.addCell(new Phrase(activity.getDescription(), normalFont));
-            }
+            addFooter(document);
+
+        } catch (DocumentException e) {
+            throw new RuntimeException("Error generating PDF report", e);
+        } finally {
+            document.close();
+        }
+    }
+
+    /**
+     * Render a department report: one summary row per intern, then each intern's activities
+     */
+    public static void writeDepartmentReport(String department, List<Intern> interns,
+                                             Map<Long, List<Activity>> activitiesByIntern,
+                                             Map<Long, Map<Attendance.AttendanceStatus, Long>> attendanceByIntern,
+                                             OutputStream outputStream) {
+        Document document = new Document(PageSize.A4);
+
+        try {
+            PdfWriter.getInstance(document, outputStream);
+            document.open();
 
-            document.add(table);
+            Paragraph title = new Paragraph("Department Activity Report: " + department, titleFont());
+            title.setAlignment(Element.ALIGN_CENTER);
+            title.setSpacingAfter(20f);
+            document.add(title);
 
-            // Add footer
-            Font footerFont = FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 10);
-            Paragraph footer = new Paragraph("Generated on " + java.time.LocalDate.now(), footerFont);
-            footer.setAlignment(Element.ALIGN_RIGHT);
-            document.add(footer);
+            Font headerFont = headerFont();
+            Font normalFont = normalFont();
+
+            // Summary table
+            PdfPTable summary = new PdfPTable(new float[]{3, 3, 1, 1, 1, 1, 1});
+            summary.setWidthPercentage(100);
+            summary.setSpacingAfter(10f);
+            for (String header : new String[]{"Intern", "Period", "Activities", "Present", "Late", "Partial", "Absent"}) {
+                summary.addCell(headerCell(header, headerFont));
+            }
+            for (Intern intern : interns) {
+                Map<Attendance.AttendanceStatus, Long> attendance = attendanceByIntern.getOrDefault(intern.getId(), Map.of());
+                summary.addCell(new Phrase(intern.getFirstName() + " " + intern.getLastName(), normalFont));
+                summary.addCell(new Phrase(intern.getStartDate().format(DATE_FORMATTER) + " - "
+                        + intern.getEndDate().format(DATE_FORMATTER), normalFont));
+                summary.addCell(new Phrase(String.valueOf(activitiesByIntern.getOrDefault(intern.getId(), List.of()).size()), normalFont));
+                summary.addCell(new Phrase(String.valueOf(attendance.getOrDefault(Attendance.AttendanceStatus.PRESENT, 0L)), normalFont));
+                summary.addCell(new Phrase(String.valueOf(attendance.getOrDefault(Attendance.AttendanceStatus.LATE, 0L)), normalFont));
+                summary.addCell(new Phrase(String.valueOf(attendance.getOrDefault(Attendance.AttendanceStatus.PARTIAL, 0L)), normalFont));
+                summary.addCell(new Phrase(String.valueOf(attendance.getOrDefault(Attendance.AttendanceStatus.ABSENT, 0L)), normalFont));
+            }
+            document.add(summary);
+
+            // Activities per intern
+            for (Intern intern : interns) {
+                List<Activity> activities = activitiesByIntern.getOrDefault(intern.getId(), List.of());
+                if (activities.isEmpty()) {
+                    continue;
+                }
+                document.add(new Paragraph(intern.getFirstName() + " " + intern.getLastName(), headerFont));
+                addActivitiesTable(document, activities);
+            }
+
+            addFooter(document);
 
         } catch (DocumentException e) {
             throw new RuntimeException("Error generating PDF report", e);
         } finally {
             document.close();
         }
+    }
 
-        return outputStream.toByteArray();
+    private static void addActivitiesTable(Document document, List<Activity> activities) throws DocumentException {
+        Font headerFont = headerFont();
+        Font normalFont = normalFont();
+
+        PdfPTable table = new PdfPTable(2);
+        table.setWidthPercentage(100);
+        table.setSpacingBefore(10f);
+        table.setSpacingAfter(10f);
+        // Large table: rows already added to the document are written out and dropped
+        table.setComplete(false);
+
+        // Table headers
+        table.addCell(headerCell("Date", headerFont));
+        table.addCell(headerCell("Activities", headerFont));
+        table.setHeaderRows(1);
+
+        // Table data
+        int rows = 0;
+        for (Activity activity : activities) {
+            table.addCell(new Phrase(activity.getActivityDate().format(DATE_FORMATTER), normalFont));
+            table.addCell(new Phrase(activity.getDescription(), normalFont));
+            if (++rows % FLUSH_ROWS == 0) {
+                document.add(table);
+            }
+        }
+        table.setComplete(true);
+        document.add(table);
+    }
+
+    private static PdfPCell headerCell(String text, Font font) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, font));
+        cell.setBackgroundColor(new Color(220, 220, 220));
+        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        return cell;
+    }
+
+    private static void addFooter(Document document) throws DocumentException {
+        Font footerFont = FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 10);
+        Paragraph footer = new Paragraph("Generated on " + java.time.LocalDate.now(), footerFont);
+        footer.setAlignment(Element.ALIGN_RIGHT);
+        document.add(footer);
+    }
+
+    private static Font titleFont() {
+        return FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, Color.BLUE);
+    }
+
+    private static Font headerFont() {
+        return FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
+    }
+
+    private static Font normalFont() {
+        return FontFactory.getFont(FontFactory.HELVETICA, 12);
     }
-}
\ No newline at end of file
+}
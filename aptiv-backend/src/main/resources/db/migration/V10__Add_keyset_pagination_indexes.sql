@@ -0,0 +1,14 @@
+-- Composite indexes backing the cursor (keyset) pagination mode of the listing endpoints.
+-- Each matches an ORDER BY <timestamp> DESC, id DESC scan so a page is a bounded index range.
+
+CREATE INDEX idx_interns_created_at_id ON interns(created_at DESC, id DESC);
+
+CREATE INDEX idx_messages_intern_sent_at_id ON messages(intern_id, sent_at DESC, id DESC);
+CREATE INDEX idx_messages_sender_sent_at_id ON messages(sender_id, sent_at DESC, id DESC);
+CREATE INDEX idx_messages_recipient_sent_at_id ON messages(recipient_id, sent_at DESC, id DESC);
+
+CREATE INDEX idx_notifications_user_created_at_id ON notifications(user_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_documents_uploaded_at_id ON documents(uploaded_at DESC, id DESC);
+
+CREATE INDEX idx_activities_created_at_id ON activities(created_at DESC, id DESC);
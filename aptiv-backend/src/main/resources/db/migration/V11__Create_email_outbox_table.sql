@@ -0,0 +1,19 @@
+-- Transactional outbox for outgoing emails: rows are inserted with the business change and
+-- removed once sent, so SMTP latency or failures never roll back or hold open a transaction.
+-- Rows that fail for good stay as FAILED for diagnosis, with the body (which may carry an initial
+-- password) replaced by a placeholder.
+CREATE TABLE email_outbox (
+                              id BIGSERIAL PRIMARY KEY,
+                              recipient VARCHAR(255) NOT NULL,
+                              subject VARCHAR(255) NOT NULL,
+                              body TEXT NOT NULL,
+                              status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'SENDING', 'FAILED')),
+                              attempts INTEGER NOT NULL DEFAULT 0,
+                              next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                              claimed_at TIMESTAMP,
+                              last_error TEXT,
+                              created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_email_outbox_due ON email_outbox(next_attempt_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_email_outbox_claimed ON email_outbox(claimed_at) WHERE status = 'SENDING';
@@ -0,0 +1,7 @@
+-- Tables written by bulk intern imports take their ids from the pooled sequence generator
+-- (allocationSize = 50), so their sequences must advance by the same step.
+-- Column defaults keep using nextval, so plain SQL inserts still work.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE interns_id_seq INCREMENT BY 50;
+ALTER SEQUENCE notifications_id_seq INCREMENT BY 50;
+ALTER SEQUENCE email_outbox_id_seq INCREMENT BY 50;
@@ -0,0 +1,15 @@
+-- One row per reminder ever sent, keyed by what it is about (e.g. INTERNSHIP_ENDING:<intern>:<end date>:<days>).
+-- The scheduler claims reminders by inserting here with ON CONFLICT DO NOTHING, so a reminder is sent
+-- once even when several nodes run the job, and dedup never compares notification text.
+CREATE TABLE reminder_ledger (
+                                 id BIGSERIAL PRIMARY KEY,
+                                 reminder_key VARCHAR(100) NOT NULL,
+                                 intern_id BIGINT NOT NULL,
+                                 days_before INTEGER NOT NULL,
+                                 created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                 FOREIGN KEY (intern_id) REFERENCES interns(id) ON DELETE CASCADE
+);
+
+CREATE UNIQUE INDEX idx_reminder_ledger_key ON reminder_ledger(reminder_key);
+CREATE INDEX idx_reminder_ledger_intern_id ON reminder_ledger(intern_id);
+CREATE INDEX idx_reminder_ledger_created_at ON reminder_ledger(created_at);
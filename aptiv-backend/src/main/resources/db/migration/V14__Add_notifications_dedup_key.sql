@@ -0,0 +1,15 @@
+-- SHA-256 of (type, intern, message), set by NotificationService.createNotification so duplicates
+-- are rejected by a unique index instead of comparing the message TEXT column.
+-- Rows written without a key (broadcasts, batch inserts) are never deduplicated: NULLs don't conflict.
+ALTER TABLE notifications ADD COLUMN dedup_key VARCHAR(64);
+
+-- Existing duplicates keep their key on the oldest row only
+UPDATE notifications n
+SET dedup_key = k.dedup_key
+FROM (SELECT id,
+             encode(sha256(convert_to(type || ':' || COALESCE(intern_id::text, '') || ':' || message, 'UTF8')), 'hex') AS dedup_key,
+             ROW_NUMBER() OVER (PARTITION BY type, intern_id, message ORDER BY id) AS rn
+      FROM notifications) k
+WHERE n.id = k.id AND k.rn = 1;
+
+CREATE UNIQUE INDEX idx_notifications_dedup_key ON notifications(dedup_key);
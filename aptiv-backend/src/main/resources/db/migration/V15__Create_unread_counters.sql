@@ -0,0 +1,139 @@
+-- Denormalized unread counters, so the notification badge and /messages/unread/count are primary
+-- key lookups instead of COUNT queries. They are kept up to date by statement-level triggers in the
+-- same transaction as the change, whichever path writes the rows (JPA, JDBC batches, bulk UPDATEs,
+-- cascading deletes).
+--   user_unread_counts.notifications: unread notifications of the user
+--   user_unread_counts.messages:      unread INTERN_TO_HR messages whose recipient is the user
+--   intern_unread_counts.messages:    unread HR_TO_INTERN messages of the intern
+CREATE TABLE user_unread_counts (
+                                    user_id BIGINT PRIMARY KEY,
+                                    notifications INTEGER NOT NULL DEFAULT 0,
+                                    messages INTEGER NOT NULL DEFAULT 0,
+                                    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE intern_unread_counts (
+                                      intern_id BIGINT PRIMARY KEY,
+                                      messages INTEGER NOT NULL DEFAULT 0,
+                                      FOREIGN KEY (intern_id) REFERENCES interns(id) ON DELETE CASCADE
+);
+
+-- Transition tables give the whole set of changed rows, so a batch insert or bulk update costs
+-- one counter upsert per affected owner rather than one per row. Deletes only decrement existing
+-- counters: the owner may be the row being deleted by the cascade.
+CREATE OR REPLACE FUNCTION notifications_unread_counts() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO user_unread_counts AS c (user_id, notifications)
+        SELECT user_id, COUNT(*) FROM new_rows WHERE NOT is_read GROUP BY user_id
+        ON CONFLICT (user_id) DO UPDATE SET notifications = c.notifications + EXCLUDED.notifications;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO user_unread_counts AS c (user_id, notifications)
+        SELECT user_id, SUM(delta)
+        FROM (SELECT user_id, 1 AS delta FROM new_rows WHERE NOT is_read
+              UNION ALL
+              SELECT user_id, -1 FROM old_rows WHERE NOT is_read) d
+        GROUP BY user_id
+        HAVING SUM(delta) <> 0
+        ON CONFLICT (user_id) DO UPDATE SET notifications = c.notifications + EXCLUDED.notifications;
+    ELSE
+        UPDATE user_unread_counts c
+        SET notifications = c.notifications - d.unread
+        FROM (SELECT user_id, COUNT(*) AS unread FROM old_rows WHERE NOT is_read GROUP BY user_id) d
+        WHERE c.user_id = d.user_id;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_notifications_unread_insert
+    AFTER INSERT ON notifications REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notifications_unread_counts();
+CREATE TRIGGER trg_notifications_unread_update
+    AFTER UPDATE ON notifications REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notifications_unread_counts();
+CREATE TRIGGER trg_notifications_unread_delete
+    AFTER DELETE ON notifications REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notifications_unread_counts();
+
+-- Messages count for the HR recipient (INTERN_TO_HR) or for the intern (HR_TO_INTERN)
+CREATE OR REPLACE FUNCTION messages_unread_counts() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO user_unread_counts AS c (user_id, messages)
+        SELECT recipient_id, COUNT(*) FROM new_rows
+        WHERE NOT is_read AND message_type = 'INTERN_TO_HR' AND recipient_id IS NOT NULL
+        GROUP BY recipient_id
+        ON CONFLICT (user_id) DO UPDATE SET messages = c.messages + EXCLUDED.messages;
+
+        INSERT INTO intern_unread_counts AS c (intern_id, messages)
+        SELECT intern_id, COUNT(*) FROM new_rows
+        WHERE NOT is_read AND message_type = 'HR_TO_INTERN'
+        GROUP BY intern_id
+        ON CONFLICT (intern_id) DO UPDATE SET messages = c.messages + EXCLUDED.messages;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO user_unread_counts AS c (user_id, messages)
+        SELECT recipient_id, SUM(delta)
+        FROM (SELECT recipient_id, 1 AS delta FROM new_rows
+              WHERE NOT is_read AND message_type = 'INTERN_TO_HR' AND recipient_id IS NOT NULL
+              UNION ALL
+              SELECT recipient_id, -1 FROM old_rows
+              WHERE NOT is_read AND message_type = 'INTERN_TO_HR' AND recipient_id IS NOT NULL) d
+        GROUP BY recipient_id
+        HAVING SUM(delta) <> 0
+        ON CONFLICT (user_id) DO UPDATE SET messages = c.messages + EXCLUDED.messages;
+
+        INSERT INTO intern_unread_counts AS c (intern_id, messages)
+        SELECT intern_id, SUM(delta)
+        FROM (SELECT intern_id, 1 AS delta FROM new_rows WHERE NOT is_read AND message_type = 'HR_TO_INTERN'
+              UNION ALL
+              SELECT intern_id, -1 FROM old_rows WHERE NOT is_read AND message_type = 'HR_TO_INTERN') d
+        GROUP BY intern_id
+        HAVING SUM(delta) <> 0
+        ON CONFLICT (intern_id) DO UPDATE SET messages = c.messages + EXCLUDED.messages;
+    ELSE
+        UPDATE user_unread_counts c
+        SET messages = c.messages - d.unread
+        FROM (SELECT recipient_id, COUNT(*) AS unread FROM old_rows
+              WHERE NOT is_read AND message_type = 'INTERN_TO_HR' AND recipient_id IS NOT NULL
+              GROUP BY recipient_id) d
+        WHERE c.user_id = d.recipient_id;
+
+        UPDATE intern_unread_counts c
+        SET messages = c.messages - d.unread
+        FROM (SELECT intern_id, COUNT(*) AS unread FROM old_rows
+              WHERE NOT is_read AND message_type = 'HR_TO_INTERN'
+              GROUP BY intern_id) d
+        WHERE c.intern_id = d.intern_id;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_messages_unread_insert
+    AFTER INSERT ON messages REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION messages_unread_counts();
+CREATE TRIGGER trg_messages_unread_update
+    AFTER UPDATE ON messages REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION messages_unread_counts();
+CREATE TRIGGER trg_messages_unread_delete
+    AFTER DELETE ON messages REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION messages_unread_counts();
+
+-- Initial counts
+INSERT INTO user_unread_counts (user_id, notifications, messages)
+SELECT u.id,
+       (SELECT COUNT(*) FROM notifications n WHERE n.user_id = u.id AND NOT n.is_read),
+       (SELECT COUNT(*) FROM messages m
+        WHERE m.recipient_id = u.id AND NOT m.is_read AND m.message_type = 'INTERN_TO_HR')
+FROM users u;
+
+INSERT INTO intern_unread_counts (intern_id, messages)
+SELECT i.id,
+       (SELECT COUNT(*) FROM messages m
+        WHERE m.intern_id = i.id AND NOT m.is_read AND m.message_type = 'HR_TO_INTERN')
+FROM interns i;
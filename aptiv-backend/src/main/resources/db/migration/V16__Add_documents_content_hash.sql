@@ -0,0 +1,3 @@
+-- Hex SHA-256 of the stored file, used as the download ETag. Filled in lazily on the first
+-- download of documents uploaded before this column existed.
+ALTER TABLE documents ADD COLUMN content_hash VARCHAR(64);
@@ -0,0 +1,60 @@
+-- Nightly rollup of each intern's attendance since the start of the internship, refreshed by
+-- AttendanceAnalyticsService. Every weekday up to yesterday counts as a working day: a day without
+-- an attendance row is an absence, whether or not an ABSENT row was recorded for it.
+-- Absence streaks are gaps-and-islands over the absent working days: numbering all working days
+-- and the absent ones separately, the difference is constant within a run of consecutive absences.
+CREATE MATERIALIZED VIEW intern_attendance_stats AS
+WITH working_days AS (
+    SELECT i.id AS intern_id, CAST(d AS DATE) AS day
+    FROM interns i
+             CROSS JOIN LATERAL generate_series(i.start_date, LEAST(i.end_date, CURRENT_DATE - 1), INTERVAL '1 day') d
+    WHERE EXTRACT(ISODOW FROM d) < 6
+),
+     marked AS (
+         SELECT w.intern_id, w.day, COALESCE(a.status, 'ABSENT') AS status,
+                row_number() OVER (PARTITION BY w.intern_id ORDER BY w.day) AS day_no
+         FROM working_days w
+                  LEFT JOIN attendance a ON a.intern_id = w.intern_id AND a.attendance_date = w.day
+     ),
+     totals AS (
+         SELECT intern_id,
+                COUNT(*) AS working_days,
+                COUNT(*) FILTER (WHERE status = 'PRESENT') AS present_days,
+                COUNT(*) FILTER (WHERE status = 'LATE') AS late_days,
+                COUNT(*) FILTER (WHERE status = 'PARTIAL') AS partial_days,
+                COUNT(*) FILTER (WHERE status = 'ABSENT') AS absent_days,
+                MAX(day) AS last_day
+         FROM marked
+         GROUP BY intern_id
+     ),
+     streaks AS (
+         SELECT intern_id, MIN(day) AS first_day, MAX(day) AS last_day, COUNT(*) AS length
+         FROM (SELECT intern_id, day, day_no - row_number() OVER (PARTITION BY intern_id ORDER BY day) AS island
+               FROM marked
+               WHERE status = 'ABSENT') absences
+         GROUP BY intern_id, island
+     ),
+     streak_totals AS (
+         SELECT s.intern_id,
+                MAX(s.length) AS longest_absence_streak,
+                MAX(s.length) FILTER (WHERE s.last_day = t.last_day) AS current_absence_streak,
+                MAX(s.first_day) FILTER (WHERE s.last_day = t.last_day) AS current_absence_start
+         FROM streaks s
+                  JOIN totals t ON t.intern_id = s.intern_id
+         GROUP BY s.intern_id
+     )
+SELECT t.intern_id,
+       t.working_days,
+       t.present_days,
+       t.late_days,
+       t.partial_days,
+       t.absent_days,
+       COALESCE(s.longest_absence_streak, 0) AS longest_absence_streak,
+       COALESCE(s.current_absence_streak, 0) AS current_absence_streak,
+       s.current_absence_start,
+       CURRENT_TIMESTAMP AS computed_at
+FROM totals t
+         LEFT JOIN streak_totals s ON s.intern_id = t.intern_id;
+
+-- Required by REFRESH MATERIALIZED VIEW CONCURRENTLY, which keeps the view readable during the refresh
+CREATE UNIQUE INDEX idx_intern_attendance_stats_intern_id ON intern_attendance_stats(intern_id);
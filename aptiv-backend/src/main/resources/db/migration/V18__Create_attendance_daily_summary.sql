@@ -0,0 +1,26 @@
+-- Attendance counts per department and day, so HR dashboards read one row per day instead of
+-- counting attendance rows. Maintained by AttendanceRollupService, which recomputes the last days
+-- each night after marking absences; interns are counted in their current department.
+CREATE TABLE attendance_daily_summary (
+                                          attendance_date DATE NOT NULL,
+                                          department VARCHAR(255) NOT NULL,
+                                          present INTEGER NOT NULL DEFAULT 0,
+                                          late INTEGER NOT NULL DEFAULT 0,
+                                          partial INTEGER NOT NULL DEFAULT 0,
+                                          absent INTEGER NOT NULL DEFAULT 0,
+                                          updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                          PRIMARY KEY (attendance_date, department)
+);
+
+CREATE INDEX idx_attendance_daily_summary_department ON attendance_daily_summary(department, attendance_date);
+
+INSERT INTO attendance_daily_summary (attendance_date, department, present, late, partial, absent)
+SELECT a.attendance_date, i.department,
+       COUNT(*) FILTER (WHERE a.status = 'PRESENT'),
+       COUNT(*) FILTER (WHERE a.status = 'LATE'),
+       COUNT(*) FILTER (WHERE a.status = 'PARTIAL'),
+       COUNT(*) FILTER (WHERE a.status = 'ABSENT')
+FROM attendance a
+         JOIN interns i ON i.id = a.intern_id
+WHERE a.attendance_date < CURRENT_DATE
+GROUP BY a.attendance_date, i.department;
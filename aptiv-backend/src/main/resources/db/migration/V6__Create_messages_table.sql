@@ -1,5 +1,21 @@
 -- Migration to update the messages table for bidirectional messaging
 
+-- The original messages table, for databases created from these migrations
+CREATE TABLE IF NOT EXISTS messages (
+                                        id BIGSERIAL PRIMARY KEY,
+                                        subject VARCHAR(255) NOT NULL,
+                                        content TEXT NOT NULL,
+                                        is_read BOOLEAN NOT NULL DEFAULT FALSE,
+                                        intern_id BIGINT NOT NULL,
+                                        sender_id BIGINT NOT NULL,
+                                        sent_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                        FOREIGN KEY (intern_id) REFERENCES interns(id) ON DELETE CASCADE,
+                                        FOREIGN KEY (sender_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_messages_intern_id ON messages(intern_id);
+CREATE INDEX IF NOT EXISTS idx_messages_sender_id ON messages(sender_id);
+
 -- Add new columns to existing messages table
 ALTER TABLE messages
     ADD COLUMN message_type VARCHAR(20) NOT NULL DEFAULT 'HR_TO_INTERN',
@@ -2,7 +2,7 @@ CREATE TABLE notifications (
                                id BIGSERIAL PRIMARY KEY,
                                title VARCHAR(255) NOT NULL,
                                message TEXT NOT NULL,
-                               type VARCHAR(50) NOT NULL CHECK (type IN ('INTERNSHIP_ENDING', 'ABSENCE_ALERT', 'DOCUMENT_UPLOADED', 'ACTIVITY_REMINDER', 'MESSAGE_FROM_HR', 'WELCOME_MESSAGE')),
+                               type VARCHAR(50) NOT NULL CHECK (type IN ('INTERNSHIP_ENDING', 'ABSENCE_ALERT', 'DOCUMENT_UPLOADED', 'ACTIVITY_REMINDER', 'MESSAGE_FROM_HR', 'MESSAGE_FROM_INTERN', 'WELCOME_MESSAGE')),
                                is_read BOOLEAN NOT NULL DEFAULT FALSE,
                                user_id BIGINT NOT NULL,
                                intern_id BIGINT,
@@ -1 +1 @@
-ALTER TABLE users ADD COLUMN password VARCHAR(255) NOT NULL DEFAULT 'temporary_hash';
\ No newline at end of file
+ALTER TABLE users ADD COLUMN IF NOT EXISTS password VARCHAR(255) NOT NULL DEFAULT 'temporary_hash';
\ No newline at end of file
@@ -0,0 +1,65 @@
+-- Full-text search over interns.
+-- The weighted search document is an IMMUTABLE SQL function so that PostgreSQL inlines it:
+-- the GIN expression index below is maintained automatically on every INSERT/UPDATE and the
+-- same expression is what the application queries against, so no trigger is needed.
+
+CREATE OR REPLACE FUNCTION intern_search_document(
+    first_name TEXT,
+    last_name TEXT,
+    email TEXT,
+    department TEXT,
+    supervisor TEXT,
+    university TEXT,
+    major TEXT
+) RETURNS tsvector
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+$$
+SELECT setweight(to_tsvector('simple', coalesce(first_name, '') || ' ' || coalesce(last_name, '')), 'A') ||
+       setweight(to_tsvector('simple', regexp_replace(coalesce(email, ''), '[@._+-]', ' ', 'g')), 'A') ||
+       setweight(to_tsvector('simple', coalesce(department, '') || ' ' || coalesce(supervisor, '')), 'B') ||
+       setweight(to_tsvector('simple', coalesce(university, '') || ' ' || coalesce(major, '')), 'C')
+$$;
+
+-- Wrappers around the @@ operator and ts_rank so they can be called from JPA criteria queries.
+CREATE OR REPLACE FUNCTION intern_search_matches(document tsvector, query TEXT) RETURNS BOOLEAN
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+$$
+SELECT document @@ to_tsquery('simple', query)
+$$;
+
+CREATE OR REPLACE FUNCTION intern_search_rank(document tsvector, query TEXT) RETURNS REAL
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+$$
+SELECT ts_rank(document, to_tsquery('simple', query))
+$$;
+
+CREATE INDEX idx_interns_search_document ON interns USING GIN (
+    intern_search_document(first_name, last_name, email, department, supervisor, university, major)
+);
+
+-- Infix matching next to the token-prefix search: "son" finds "Johnson" and a fragment of an email
+-- address matches anywhere in it, as LIKE '%keyword%' did. A trigram GIN index on the lower-cased
+-- searchable text serves the LIKE (keywords under three characters scan the whole index).
+-- pg_trgm is a trusted extension (PostgreSQL 13+): the database owner can create it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- || rather than concat_ws, which is only STABLE and cannot be used in an index expression
+CREATE OR REPLACE FUNCTION intern_search_text(
+    first_name TEXT,
+    last_name TEXT,
+    email TEXT,
+    department TEXT,
+    supervisor TEXT,
+    university TEXT,
+    major TEXT
+) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+$$
+SELECT lower(coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || coalesce(email, '') || ' ' ||
+             coalesce(department, '') || ' ' || coalesce(supervisor, '') || ' ' ||
+             coalesce(university, '') || ' ' || coalesce(major, ''))
+$$;
+
+CREATE INDEX idx_interns_search_text ON interns USING GIN (
+    intern_search_text(first_name, last_name, email, department, supervisor, university, major) gin_trgm_ops
+);
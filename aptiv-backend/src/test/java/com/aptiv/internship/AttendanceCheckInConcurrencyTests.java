@@ -0,0 +1,98 @@
+package com.aptiv.internship;
+
+import com.aptiv.internship.dto.response.AttendanceResponse;
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.service.AttendanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A burst of check-ins by the same intern must converge on one attendance row, and every caller
+ * must see the check-in time of the first one.
+ */
+@Import({TestcontainersConfiguration.class, TestFixtures.class})
+@SpringBootTest
+class AttendanceCheckInConcurrencyTests {
+
+	private static final int CHECK_INS = 1000;
+	private static final int THREADS = 50;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void concurrentCheckInsCreateOneRow() throws Exception {
+		Intern intern = fixtures.createIntern(fixtures.createHrUser());
+		UserDetails principal = User.withUsername(intern.getEmail())
+				.password("{noop}secret")
+				.roles("INTERN")
+				.build();
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<AttendanceResponse>> futures = new ArrayList<>(CHECK_INS);
+		try {
+			for (int i = 0; i < CHECK_INS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					SecurityContextHolder.getContext().setAuthentication(
+							new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+					try {
+						return attendanceService.checkIn();
+					} finally {
+						SecurityContextHolder.clearContext();
+					}
+				}));
+			}
+			start.countDown();
+
+			List<AttendanceResponse> responses = new ArrayList<>(CHECK_INS);
+			for (Future<AttendanceResponse> future : futures) {
+				responses.add(future.get(60, TimeUnit.SECONDS));
+			}
+
+			List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+					"SELECT id, check_in_time FROM attendance WHERE intern_id = ? AND attendance_date = ?",
+					intern.getId(), Date.valueOf(LocalDate.now()));
+			assertThat(rows).hasSize(1);
+			Long rowId = ((Number) rows.get(0).get("id")).longValue();
+			Time firstCheckIn = (Time) rows.get(0).get("check_in_time");
+
+			assertThat(responses).hasSize(CHECK_INS).allSatisfy(response -> {
+				assertThat(response.getId()).isEqualTo(rowId);
+				assertThat(response.getInternId()).isEqualTo(intern.getId());
+				assertThat(response.getCheckInTime()).isEqualTo(firstCheckIn.toLocalTime());
+			});
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.aptiv.internship;
+
+import com.aptiv.internship.entity.User;
+import com.aptiv.internship.service.InternSearchService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search statistics are grouped queries: adding departments and universities must not add
+ * statements, as the former one-count-per-value loops did.
+ */
+@Import({TestcontainersConfiguration.class, TestFixtures.class})
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class InternSearchStatisticsQueryCountTests {
+
+	// Status histogram, active interns, departments, universities
+	private static final long STATISTICS_STATEMENT_BUDGET = 4;
+
+	@Autowired
+	private InternSearchService internSearchService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void statisticsStatementCountDoesNotGrowWithDistinctValues() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		User hrUser = fixtures.createHrUser();
+		fixtures.createIntern(hrUser, "Department " + UUID.randomUUID(), "University " + UUID.randomUUID());
+
+		statistics.clear();
+		internSearchService.getSearchStatistics();
+		long before = statistics.getPrepareStatementCount();
+
+		String lastDepartment = null;
+		for (int i = 0; i < 20; i++) {
+			lastDepartment = "Department " + UUID.randomUUID();
+			fixtures.createIntern(hrUser, lastDepartment, "University " + UUID.randomUUID());
+		}
+
+		statistics.clear();
+		Map<String, Object> stats = internSearchService.getSearchStatistics();
+		long after = statistics.getPrepareStatementCount();
+
+		assertThat((Map<String, Long>) stats.get("departmentCounts")).containsEntry(lastDepartment, 1L);
+		assertThat(after).isEqualTo(before).isLessThanOrEqualTo(STATISTICS_STATEMENT_BUDGET);
+	}
+
+}
@@ -0,0 +1,155 @@
+package com.aptiv.internship;
+
+import com.aptiv.internship.entity.Document;
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.entity.Message;
+import com.aptiv.internship.entity.User;
+import com.aptiv.internship.repository.DocumentRepository;
+import com.aptiv.internship.repository.MessageRepository;
+import com.aptiv.internship.service.DocumentService;
+import com.aptiv.internship.service.InternService;
+import com.aptiv.internship.service.MessageService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paged reads must cost the same number of SQL statements whatever the page holds: the page query,
+ * the count query and at most one batch of associations, never one query per row.
+ */
+@Import({TestcontainersConfiguration.class, TestFixtures.class})
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PagedReadQueryCountTests {
+
+	private static final int PAGE_SIZE = 10;
+	// Page query + count query + one batch fetch of a lazy association
+	private static final long PAGE_STATEMENT_BUDGET = 3;
+	// Plus the lookup of the current user
+	private static final long MESSAGE_PAGE_STATEMENT_BUDGET = PAGE_STATEMENT_BUDGET + 1;
+
+	@Autowired
+	private InternService internService;
+
+	@Autowired
+	private MessageService messageService;
+
+	@Autowired
+	private DocumentService documentService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private MessageRepository messageRepository;
+
+	@Autowired
+	private DocumentRepository documentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void internPageHasAFixedStatementCount() {
+		// More rows than a page, so Spring Data runs the count query in both measurements
+		for (int i = 0; i <= PAGE_SIZE; i++) {
+			fixtures.createIntern(fixtures.createHrUser());
+		}
+		long before = countStatements(() -> internService.getAllInterns(PageRequest.of(0, PAGE_SIZE)));
+
+		for (int i = 0; i < 2 * PAGE_SIZE; i++) {
+			fixtures.createIntern(fixtures.createHrUser());
+		}
+		long after = countStatements(() -> internService.getAllInterns(PageRequest.of(0, PAGE_SIZE)));
+
+		assertThat(after).isEqualTo(before).isLessThanOrEqualTo(PAGE_STATEMENT_BUDGET);
+	}
+
+	@Test
+	void messagePageHasAFixedStatementCount() {
+		User hrUser = fixtures.createHrUser();
+		for (int i = 0; i <= PAGE_SIZE; i++) {
+			createMessage(hrUser, fixtures.createIntern(hrUser));
+		}
+		authenticate(hrUser);
+		long before = countStatements(() -> messageService.getMyMessages(PageRequest.of(0, PAGE_SIZE)));
+
+		for (int i = 0; i < 2 * PAGE_SIZE; i++) {
+			createMessage(hrUser, fixtures.createIntern(fixtures.createHrUser()));
+		}
+		long after = countStatements(() -> messageService.getMyMessages(PageRequest.of(0, PAGE_SIZE)));
+
+		assertThat(after).isEqualTo(before).isLessThanOrEqualTo(MESSAGE_PAGE_STATEMENT_BUDGET);
+	}
+
+	@Test
+	void documentPageHasAFixedStatementCount() {
+		for (int i = 0; i <= PAGE_SIZE; i++) {
+			createDocument(fixtures.createIntern(fixtures.createHrUser()));
+		}
+		long before = countStatements(() -> documentService.getAllDocuments(PageRequest.of(0, PAGE_SIZE)));
+
+		for (int i = 0; i < 2 * PAGE_SIZE; i++) {
+			createDocument(fixtures.createIntern(fixtures.createHrUser()));
+		}
+		long after = countStatements(() -> documentService.getAllDocuments(PageRequest.of(0, PAGE_SIZE)));
+
+		assertThat(after).isEqualTo(before).isLessThanOrEqualTo(PAGE_STATEMENT_BUDGET);
+	}
+
+	private long countStatements(Runnable read) {
+		statistics.clear();
+		read.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private void authenticate(User user) {
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+	}
+
+	private void createMessage(User hrUser, Intern intern) {
+		messageRepository.save(Message.builder()
+				.subject("Subject")
+				.content("Content")
+				.intern(intern)
+				.sender(hrUser)
+				.messageType(Message.MessageType.HR_TO_INTERN)
+				.build());
+	}
+
+	private void createDocument(Intern intern) {
+		documentRepository.save(Document.builder()
+				.fileName("report.pdf")
+				.originalFileName("report.pdf")
+				.mimeType("application/pdf")
+				.fileSize(1L)
+				.filePath("/tmp/report.pdf")
+				.type(Document.DocumentType.REPORT)
+				.intern(intern)
+				.build());
+	}
+
+}
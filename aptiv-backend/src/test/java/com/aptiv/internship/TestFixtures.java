@@ -0,0 +1,53 @@
+package com.aptiv.internship;
+
+import com.aptiv.internship.entity.Intern;
+import com.aptiv.internship.entity.User;
+import com.aptiv.internship.repository.InternRepository;
+import com.aptiv.internship.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Persists the users and interns the integration tests start from. Every row gets a unique
+ * email, so tests sharing the database do not collide.
+ */
+@TestComponent
+class TestFixtures {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private InternRepository internRepository;
+
+	User createHrUser() {
+		String suffix = UUID.randomUUID().toString();
+		return userRepository.save(new User("hr-" + suffix + "@aptiv.test", "{noop}secret", "Hr", suffix, "HR"));
+	}
+
+	Intern createIntern(User hrUser) {
+		return createIntern(hrUser, "Engineering", "University");
+	}
+
+	Intern createIntern(User hrUser, String department, String university) {
+		String suffix = UUID.randomUUID().toString();
+		return internRepository.save(Intern.builder()
+				.firstName("Intern")
+				.lastName(suffix)
+				.email("intern-" + suffix + "@aptiv.test")
+				.phone("0600000000")
+				.university(university)
+				.major("Engineering")
+				.startDate(LocalDate.now().minusMonths(1))
+				.endDate(LocalDate.now().plusMonths(2))
+				.supervisor("Supervisor")
+				.department(department)
+				.status(Intern.InternshipStatus.ACTIVE)
+				.user(hrUser)
+				.build());
+	}
+
+}